@@ -0,0 +1,259 @@
+package com.mingrn.common.redis.distributed.lock;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试使用的本地 Redis 替身
+ * <p>
+ * 仅实现 {@link RedisLock} 用到的 RESP 命令: PING、QUIT、GET、DEL、SET(NX/PX/EX)、
+ * 以及 EVAL 执行的安全释放与 fencing token 加锁脚本. 所有命令在同一把锁内串行执行,
+ * 与 Redis 单线程执行命令的语义一致, 网络开销为本机回环, 用于对比客户端侧的加锁开销.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 10:20
+ */
+public class LocalRedisServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+
+    /** 键 -> 值 */
+    private final Map<String, String> values = new HashMap<>();
+    /** 键 -> 过期毫秒时间 */
+    private final Map<String, Long> expireAt = new HashMap<>();
+
+    private volatile boolean running = true;
+
+    public LocalRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "redis-stand-in-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    private void accept() {
+        int connections = 0;
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread worker = new Thread(() -> serve(socket), "redis-stand-in-" + (++connections));
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             InputStream in = new BufferedInputStream(s.getInputStream());
+             OutputStream out = new BufferedOutputStream(s.getOutputStream())) {
+            List<String> command;
+            while ((command = readCommand(in)) != null) {
+                boolean quit = "QUIT".equalsIgnoreCase(command.get(0));
+                Object reply;
+                synchronized (this) {
+                    reply = execute(command);
+                }
+                writeReply(out, reply);
+                out.flush();
+                if (quit) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // 客户端断开连接
+        }
+    }
+
+    private Object execute(List<String> command) {
+        String name = command.get(0).toUpperCase();
+        switch (name) {
+            case "PING":
+                return new Status("PONG");
+            case "QUIT":
+                return new Status("OK");
+            case "GET":
+                return get(command.get(1));
+            case "DEL":
+                long deleted = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    deleted += del(command.get(i));
+                }
+                return deleted;
+            case "SET":
+                return set(command.subList(1, command.size()));
+            case "EVAL":
+                return eval(command.get(1), command.subList(3, command.size()), Integer.parseInt(command.get(2)));
+            default:
+                return new ErrorReply("ERR unknown command '" + command.get(0) + "'");
+        }
+    }
+
+    private String get(String key) {
+        Long expire = expireAt.get(key);
+        if (expire != null && expire <= System.currentTimeMillis()) {
+            values.remove(key);
+            expireAt.remove(key);
+        }
+        return values.get(key);
+    }
+
+    private long del(String key) {
+        expireAt.remove(key);
+        return values.remove(key) != null ? 1 : 0;
+    }
+
+    private Object set(List<String> args) {
+        String key = args.get(0);
+        boolean nx = false;
+        long ttlMillis = 0;
+        for (int i = 2; i < args.size(); i++) {
+            String option = args.get(i).toUpperCase();
+            if ("NX".equals(option)) {
+                nx = true;
+            } else if ("PX".equals(option)) {
+                ttlMillis = Long.parseLong(args.get(++i));
+            } else if ("EX".equals(option)) {
+                ttlMillis = Long.parseLong(args.get(++i)) * 1000;
+            }
+        }
+        if (nx && get(key) != null) {
+            return null;
+        }
+        values.put(key, args.get(1));
+        if (ttlMillis > 0) {
+            expireAt.put(key, System.currentTimeMillis() + ttlMillis);
+        } else {
+            expireAt.remove(key);
+        }
+        return new Status("OK");
+    }
+
+    /**
+     * 按脚本内容识别 {@link RedisLock} 的安全释放与 fencing token 加锁脚本
+     */
+    private Object eval(String script, List<String> keysAndArgs, int numKeys) {
+        List<String> keys = keysAndArgs.subList(0, numKeys);
+        List<String> args = keysAndArgs.subList(numKeys, keysAndArgs.size());
+        if (script.contains("'incr'")) {
+            if (get(keys.get(0)) != null) {
+                return -1L;
+            }
+            set(Arrays.asList(keys.get(0), args.get(0), "PX", args.get(1)));
+            long token = values.containsKey(keys.get(1)) ? Long.parseLong(values.get(keys.get(1))) + 1 : 1;
+            values.put(keys.get(1), String.valueOf(token));
+            return token;
+        }
+        if (script.contains("'del'")) {
+            return args.get(0).equals(get(keys.get(0))) ? del(keys.get(0)) : 0L;
+        }
+        return new ErrorReply("ERR unsupported script");
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("Unexpected RESP Type: " + (char) type);
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected Bulk String");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = in.read(bytes, read, length - read);
+                if (n == -1) {
+                    throw new IOException("Unexpected End Of Stream");
+                }
+                read += n;
+            }
+            in.read();
+            in.read();
+            command.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new IOException("Unexpected End Of Stream");
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void writeReply(OutputStream out, Object reply) throws IOException {
+        String encoded;
+        if (reply == null) {
+            encoded = "$-1\r\n";
+        } else if (reply instanceof Status) {
+            encoded = "+" + ((Status) reply).message + "\r\n";
+        } else if (reply instanceof ErrorReply) {
+            encoded = "-" + ((ErrorReply) reply).message + "\r\n";
+        } else if (reply instanceof Long) {
+            encoded = ":" + reply + "\r\n";
+        } else {
+            byte[] bytes = ((String) reply).getBytes(StandardCharsets.UTF_8);
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.write(bytes);
+            encoded = "\r\n";
+        }
+        out.write(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Status {
+
+        private final String message;
+
+        private Status(String message) {
+            this.message = message;
+        }
+    }
+
+    private static final class ErrorReply {
+
+        private final String message;
+
+        private ErrorReply(String message) {
+            this.message = message;
+        }
+    }
+}
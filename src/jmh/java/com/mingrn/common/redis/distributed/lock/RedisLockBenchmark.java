@@ -0,0 +1,160 @@
+package com.mingrn.common.redis.distributed.lock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RedisLock} 加锁/释放吞吐量与延迟基准测试
+ * <p>
+ * 使用 {@link LocalRedisServer} 作为本地 Redis 替身, 分别测量无竞争以及 4、16 个线程竞争同一把锁时的
+ * 加锁/释放吞吐量与延迟, 并通过 {@code metricsEnabled} 参数对比开启 {@link RedisLockMetrics} 的额外开销.
+ * 竞争场景中 {@code blocking*} 测量阻塞获取(含轮询等待)与释放的完整耗时,
+ * {@code tryLock*} 测量不重试的尝试, 并通过 {@code acquired}、{@code failed} 计数分别报告成功与失败次数.
+ *
+ * <p>运行方式:
+ * <pre>{@code
+ *   mvn -P jmh test-compile exec:exec
+ *   mvn -P jmh test-compile exec:exec -Djmh.args="RedisLockBenchmark.blocking -f 1 -t 8"
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 10:40
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RedisLockBenchmark {
+
+    /** 锁过期时间30秒 */
+    private static final int EXPIRE_IN_MILLISECONDS = 30 * 1000;
+    /** 阻塞获取锁等待时间10秒 */
+    private static final long TRY_LOCK_TIMEOUT_IN_MILLISECONDS = 10 * 1000;
+
+    private static final String SHARED_LOCK_KEY = "lock:benchmark:shared";
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private LocalRedisServer server;
+    private JedisPool jedisPool;
+    private RedisLock redisLock;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LocalRedisServer();
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(64);
+        poolConfig.setMaxIdle(64);
+        jedisPool = new JedisPool(poolConfig, "127.0.0.1", server.getPort());
+        redisLock = new RedisLock(jedisPool, metricsEnabled ? new RedisLockMetrics() : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        jedisPool.close();
+        server.close();
+    }
+
+    /**
+     * 线程私有的请求标识与锁
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private final String requestId = UUID.randomUUID().toString();
+        private final String ownLockKey = "lock:benchmark:" + requestId;
+    }
+
+    /**
+     * 线程私有的加锁尝试计数, 分别报告获取成功与失败的次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Attempts {
+
+        public long acquired;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            acquired = 0;
+            failed = 0;
+        }
+    }
+
+    /** 每个线程使用各自的锁, 加锁必定成功 */
+    @Benchmark
+    @Threads(1)
+    public boolean uncontended(Caller caller) {
+        if (redisLock.tryGetDistributedLock(caller.ownLockKey, caller.requestId, EXPIRE_IN_MILLISECONDS)) {
+            return redisLock.releaseDistributedLock(caller.ownLockKey, caller.requestId);
+        }
+        return false;
+    }
+
+    /** 4 个线程竞争同一把锁, 每次操作为一次阻塞获取(含轮询等待)与释放 */
+    @Benchmark
+    @Threads(4)
+    public boolean blocking4(Caller caller) {
+        return blocking(caller);
+    }
+
+    /** 16 个线程竞争同一把锁, 每次操作为一次阻塞获取(含轮询等待)与释放 */
+    @Benchmark
+    @Threads(16)
+    public boolean blocking16(Caller caller) {
+        return blocking(caller);
+    }
+
+    /** 4 个线程竞争同一把锁, 每次操作为一次不重试的尝试, 成功与失败次数分别报告 */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(4)
+    public void tryLock4(Caller caller, Attempts attempts) {
+        tryLock(caller, attempts);
+    }
+
+    /** 16 个线程竞争同一把锁, 每次操作为一次不重试的尝试, 成功与失败次数分别报告 */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(16)
+    public void tryLock16(Caller caller, Attempts attempts) {
+        tryLock(caller, attempts);
+    }
+
+    private boolean blocking(Caller caller) {
+        if (redisLock.getDistributedLock(SHARED_LOCK_KEY, caller.requestId, EXPIRE_IN_MILLISECONDS, TRY_LOCK_TIMEOUT_IN_MILLISECONDS)) {
+            return redisLock.releaseDistributedLock(SHARED_LOCK_KEY, caller.requestId);
+        }
+        return false;
+    }
+
+    private void tryLock(Caller caller, Attempts attempts) {
+        if (redisLock.tryGetDistributedLock(SHARED_LOCK_KEY, caller.requestId, EXPIRE_IN_MILLISECONDS)) {
+            redisLock.releaseDistributedLock(SHARED_LOCK_KEY, caller.requestId);
+            attempts.acquired++;
+        } else {
+            attempts.failed++;
+        }
+    }
+}
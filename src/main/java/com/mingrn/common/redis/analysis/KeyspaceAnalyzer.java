@@ -0,0 +1,266 @@
+package com.mingrn.common.redis.analysis;
+
+import com.mingrn.common.redis.client.base.RedisKeyspaceScanner;
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Redis 键空间分析
+ * <p>
+ * 使用 SCAN 全量或抽样遍历键空间, 每批键通过两次管道探测: 第一次获取 TYPE 与 OBJECT ENCODING,
+ * 第二次按类型获取大小(STRLEN/HLEN/LLEN/SCARD/ZCARD)及 MEMORY USAGE, Redis 4.0 以下不支持 MEMORY USAGE 时自动跳过.
+ * 结果汇总为 {@link KeyspaceReport}, 用于发现大键.
+ * <p>
+ * 同时执行探测的批次不超过 {@code concurrency}, 每次探测只占用一个连接, 且只执行 O(1) 命令,
+ * 可以在生产环境运行. 必要时通过抽样比例进一步降低开销.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   KeyspaceReport report = new KeyspaceAnalyzer(poolConfig).analyze("*", 0.1);
+ *   report.getTopKeysByType().get("hash").forEach(System.out::println);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 23:20
+ */
+public class KeyspaceAnalyzer {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 每批探测的键个数 */
+    private final int batchSize;
+    /** 同时探测的批次数 */
+    private final int concurrency;
+    /** 每组保留的最大键个数 */
+    private final int topK;
+    /** 键前缀分隔符 */
+    private final String prefixDelimiter;
+
+    /** Redis 是否支持 MEMORY USAGE 命令 */
+    private volatile boolean memoryUsageSupported = true;
+
+    /** 默认每批探测100个键 */
+    private final static int DEFAULT_BATCH_SIZE = 100;
+    /** 默认同时探测2批 */
+    private final static int DEFAULT_CONCURRENCY = 2;
+    /** 默认每组保留最大的20个键 */
+    private final static int DEFAULT_TOP_K = 20;
+    /** 默认键前缀分隔符 */
+    private final static String DEFAULT_PREFIX_DELIMITER = ":";
+
+    /** Jedis 2.9 没有 MEMORY 命令, 通过脚本调用 */
+    private static final byte[] MEMORY_USAGE_LUA_SCRIPT = SafeEncoder.encode("return redis.call('memory', 'usage', KEYS[1])");
+
+    private static final Logger LOGGER = Logger.getLogger(KeyspaceAnalyzer.class.getName());
+
+    public KeyspaceAnalyzer(final AbstractPoolConfig poolConfig) {
+        this(poolConfig, DEFAULT_BATCH_SIZE, DEFAULT_CONCURRENCY, DEFAULT_TOP_K, DEFAULT_PREFIX_DELIMITER);
+    }
+
+    /**
+     * @param poolConfig      连接池
+     * @param batchSize       每批探测的键个数
+     * @param concurrency     同时探测的批次数
+     * @param topK            每个类型、每个前缀保留的最大键个数
+     * @param prefixDelimiter 键前缀分隔符
+     */
+    public KeyspaceAnalyzer(final AbstractPoolConfig poolConfig, final int batchSize, final int concurrency,
+                            final int topK, final String prefixDelimiter) {
+        if (batchSize <= 0 || concurrency <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("Batch Size, Concurrency And Top K Must Be Positive");
+        }
+        this.poolConfig = poolConfig;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.topK = topK;
+        this.prefixDelimiter = prefixDelimiter;
+    }
+
+    /**
+     * 全量分析匹配模式的键
+     *
+     * @param pattern 匹配模式
+     * @return 分析报告
+     */
+    public KeyspaceReport analyze(String pattern) {
+        return analyze(pattern, 1);
+    }
+
+    /**
+     * 抽样分析匹配模式的键, 线程被中断时返回已分析部分的报告
+     *
+     * @param pattern     匹配模式
+     * @param sampleRatio 抽样比例, (0, 1]
+     * @return 分析报告
+     */
+    public KeyspaceReport analyze(String pattern, double sampleRatio) {
+        if (sampleRatio <= 0 || sampleRatio > 1) {
+            throw new IllegalArgumentException("Sample Ratio Must Be In (0, 1]: " + sampleRatio);
+        }
+        KeyspaceReport report = new KeyspaceReport(topK, prefixDelimiter, sampleRatio);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // 限制已提交未完成的批次, 避免 SCAN 远快于探测时堆积键
+        Semaphore pending = new Semaphore(concurrency);
+        ExecutorService executor = newProbeExecutor(concurrency);
+        try {
+            Iterator<String> keys = RedisKeyspaceScanner.scanKeys(new ScanParams().match(pattern).count(batchSize), poolConfig).iterator();
+            List<String> batch = new ArrayList<>(batchSize);
+            long scanned = 0;
+            while (keys.hasNext() && failure.get() == null) {
+                String key = keys.next();
+                scanned++;
+                if (sampleRatio < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRatio) {
+                    continue;
+                }
+                batch.add(key);
+                if (batch.size() >= batchSize) {
+                    submit(executor, pending, batch, report, failure);
+                    batch = new ArrayList<>(batchSize);
+                    report.scanned(scanned);
+                    scanned = 0;
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(executor, pending, batch, report, failure);
+            }
+            report.scanned(scanned);
+            // 等待全部批次完成
+            pending.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return report;
+    }
+
+    private void submit(ExecutorService executor, Semaphore pending, List<String> batch,
+                        KeyspaceReport report, AtomicReference<RuntimeException> failure) throws InterruptedException {
+        pending.acquire();
+        executor.execute(() -> {
+            try {
+                report.add(probe(batch));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    /**
+     * 探测一批键的类型、编码、大小及内存占用, 探测期间已删除的键被忽略
+     *
+     * @param keys 键
+     * @return 键分析结果
+     */
+    private List<KeyspaceReport.KeyInfo> probe(List<String> keys) {
+        List<KeyspaceReport.KeyInfo> infos = new ArrayList<>(keys.size());
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<String>> types = new ArrayList<>(keys.size());
+            List<Response<String>> encodings = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                types.add(pipeline.type(key));
+                encodings.add(pipeline.objectEncoding(key));
+            }
+            pipeline.sync();
+
+            boolean probeMemory = memoryUsageSupported;
+            pipeline = jedis.pipelined();
+            List<Response<Long>> sizes = new ArrayList<>(keys.size());
+            List<Response<Object>> memories = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                sizes.add(size(pipeline, keys.get(i), types.get(i).get()));
+                memories.add(probeMemory ? pipeline.eval(MEMORY_USAGE_LUA_SCRIPT,
+                        Collections.singletonList(SafeEncoder.encode(keys.get(i))), Collections.<byte[]>emptyList()) : null);
+            }
+            pipeline.sync();
+
+            for (int i = 0; i < keys.size(); i++) {
+                String type = types.get(i).get();
+                if ("none".equals(type)) {
+                    continue;
+                }
+                Long size = null;
+                if (sizes.get(i) != null) {
+                    try {
+                        size = sizes.get(i).get();
+                    } catch (JedisDataException e) {
+                        // 两次管道之间键被改写为其他类型(WRONGTYPE), 跳过该键
+                        continue;
+                    }
+                }
+                infos.add(new KeyspaceReport.KeyInfo(keys.get(i), type, encodings.get(i).get(),
+                        size == null ? -1 : size, memoryUsage(memories.get(i))));
+            }
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        return infos;
+    }
+
+    private static Response<Long> size(Pipeline pipeline, String key, String type) {
+        switch (type) {
+            case "string":
+                return pipeline.strlen(key);
+            case "hash":
+                return pipeline.hlen(key);
+            case "list":
+                return pipeline.llen(key);
+            case "set":
+                return pipeline.scard(key);
+            case "zset":
+                return pipeline.zcard(key);
+            default:
+                return null;
+        }
+    }
+
+    private long memoryUsage(Response<Object> response) {
+        if (response == null) {
+            return -1;
+        }
+        try {
+            Object memory = response.get();
+            return memory == null ? -1 : (Long) memory;
+        } catch (JedisDataException e) {
+            if (memoryUsageSupported) {
+                memoryUsageSupported = false;
+                LOGGER.info("Redis MEMORY USAGE Is Not Supported, Analyze Keyspace Without Memory Usage: " + e.getMessage());
+            }
+            return -1;
+        }
+    }
+
+    private static ExecutorService newProbeExecutor(int concurrency) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "redis-keyspace-analyzer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
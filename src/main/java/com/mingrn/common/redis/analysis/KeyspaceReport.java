@@ -0,0 +1,271 @@
+package com.mingrn.common.redis.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 键空间分析报告
+ * <p>
+ * 按类型和键前缀汇总键个数、元素个数与内存占用, 并保留每个类型和每个前缀中最大的 K 个键.
+ * 键的大小优先按内存占用比较, Redis 不支持 MEMORY USAGE 时按元素个数(字符串为字节数)比较.
+ * 线程安全, 由 {@link KeyspaceAnalyzer} 并发写入.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 23:20
+ */
+public class KeyspaceReport {
+
+    /** 没有前缀的键归入的分组 */
+    public static final String NO_PREFIX = "<none>";
+
+    /** 键从大到小排序 */
+    private static final Comparator<KeyInfo> LARGEST_FIRST = Comparator.comparingLong(KeyInfo::getMemoryUsage)
+            .thenComparingLong(KeyInfo::getSize).reversed();
+
+    /** 每组保留的最大键个数 */
+    private final int topK;
+    /** 键前缀分隔符 */
+    private final String prefixDelimiter;
+    /** 抽样比例 */
+    private final double sampleRatio;
+
+    private long scannedKeys;
+    private long analyzedKeys;
+    private final Map<String, Summary> typeSummaries = new HashMap<>();
+    private final Map<String, Summary> prefixSummaries = new HashMap<>();
+    private final Map<String, PriorityQueue<KeyInfo>> topKeysByType = new HashMap<>();
+    private final Map<String, PriorityQueue<KeyInfo>> topKeysByPrefix = new HashMap<>();
+
+    KeyspaceReport(int topK, String prefixDelimiter, double sampleRatio) {
+        this.topK = topK;
+        this.prefixDelimiter = prefixDelimiter;
+        this.sampleRatio = sampleRatio;
+    }
+
+    /**
+     * 记录迭代到的键个数, 包括未被抽中的键
+     *
+     * @param count 键个数
+     */
+    synchronized void scanned(long count) {
+        scannedKeys += count;
+    }
+
+    /**
+     * 记录一批键的分析结果
+     *
+     * @param keys 键分析结果
+     */
+    synchronized void add(List<KeyInfo> keys) {
+        for (KeyInfo key : keys) {
+            analyzedKeys++;
+            String prefix = prefixOf(key.getKey());
+            typeSummaries.computeIfAbsent(key.getType(), t -> new Summary()).add(key);
+            prefixSummaries.computeIfAbsent(prefix, p -> new Summary()).add(key);
+            offer(topKeysByType, key.getType(), key);
+            offer(topKeysByPrefix, prefix, key);
+        }
+    }
+
+    /** 迭代到的键个数 */
+    public synchronized long getScannedKeys() {
+        return scannedKeys;
+    }
+
+    /** 实际分析的键个数 */
+    public synchronized long getAnalyzedKeys() {
+        return analyzedKeys;
+    }
+
+    /** 抽样比例, 1 表示全量分析 */
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    /**
+     * 按类型汇总
+     *
+     * @return 类型 - 汇总, 按内存占用从大到小排序
+     */
+    public synchronized Map<String, Summary> getTypeSummaries() {
+        return sortedSummaries(typeSummaries);
+    }
+
+    /**
+     * 按键前缀汇总, 前缀为键中第一个分隔符之前的部分
+     *
+     * @return 前缀 - 汇总, 按内存占用从大到小排序
+     */
+    public synchronized Map<String, Summary> getPrefixSummaries() {
+        return sortedSummaries(prefixSummaries);
+    }
+
+    /**
+     * 每个类型中最大的 K 个键
+     *
+     * @return 类型 - 键, 键从大到小排序
+     */
+    public synchronized Map<String, List<KeyInfo>> getTopKeysByType() {
+        return sortedTopKeys(topKeysByType);
+    }
+
+    /**
+     * 每个前缀中最大的 K 个键
+     *
+     * @return 前缀 - 键, 键从大到小排序
+     */
+    public synchronized Map<String, List<KeyInfo>> getTopKeysByPrefix() {
+        return sortedTopKeys(topKeysByPrefix);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder("Keyspace Report [scanned: ").append(scannedKeys)
+                .append(", analyzed: ").append(analyzedKeys).append(", sampleRatio: ").append(sampleRatio).append("]\n");
+        report.append("By Type:\n");
+        getTypeSummaries().forEach((type, summary) -> report.append("  ").append(type).append(": ").append(summary).append('\n'));
+        report.append("By Prefix:\n");
+        getPrefixSummaries().forEach((prefix, summary) -> report.append("  ").append(prefix).append(": ").append(summary).append('\n'));
+        report.append("Top Keys By Type:\n");
+        getTopKeysByType().forEach((type, keys) -> {
+            report.append("  ").append(type).append(":\n");
+            keys.forEach(key -> report.append("    ").append(key).append('\n'));
+        });
+        return report.toString();
+    }
+
+    private String prefixOf(String key) {
+        int index = key.indexOf(prefixDelimiter);
+        return index > 0 ? key.substring(0, index) : NO_PREFIX;
+    }
+
+    private void offer(Map<String, PriorityQueue<KeyInfo>> topKeys, String group, KeyInfo key) {
+        // 小顶堆, 堆顶为当前保留的最小键
+        PriorityQueue<KeyInfo> heap = topKeys.computeIfAbsent(group, g -> new PriorityQueue<>(topK + 1, LARGEST_FIRST.reversed()));
+        heap.offer(key);
+        if (heap.size() > topK) {
+            heap.poll();
+        }
+    }
+
+    private static Map<String, Summary> sortedSummaries(Map<String, Summary> summaries) {
+        List<Map.Entry<String, Summary>> entries = new ArrayList<>(summaries.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Summary> e) -> e.getValue().totalMemoryUsage)
+                .thenComparingLong(e -> e.getValue().keys).reversed());
+        Map<String, Summary> sorted = new LinkedHashMap<>();
+        for (Map.Entry<String, Summary> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue().copy());
+        }
+        return sorted;
+    }
+
+    private static Map<String, List<KeyInfo>> sortedTopKeys(Map<String, PriorityQueue<KeyInfo>> topKeys) {
+        Map<String, List<KeyInfo>> sorted = new LinkedHashMap<>();
+        for (Map.Entry<String, PriorityQueue<KeyInfo>> entry : topKeys.entrySet()) {
+            List<KeyInfo> keys = new ArrayList<>(entry.getValue());
+            keys.sort(LARGEST_FIRST);
+            sorted.put(entry.getKey(), Collections.unmodifiableList(keys));
+        }
+        return sorted;
+    }
+
+    /**
+     * 单个键的分析结果
+     */
+    public static class KeyInfo {
+
+        /** 键 */
+        private final String key;
+        /** 类型 */
+        private final String type;
+        /** 编码格式 */
+        private final String encoding;
+        /** 元素个数, 字符串为字节数, -1 表示未知 */
+        private final long size;
+        /** 内存占用字节数, -1 表示未知 */
+        private final long memoryUsage;
+
+        KeyInfo(String key, String type, String encoding, long size, long memoryUsage) {
+            this.key = key;
+            this.type = type;
+            this.encoding = encoding;
+            this.size = size;
+            this.memoryUsage = memoryUsage;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getMemoryUsage() {
+            return memoryUsage;
+        }
+
+        @Override
+        public String toString() {
+            return key + " [type: " + type + ", encoding: " + encoding + ", size: " + size + ", memory: " + memoryUsage + "]";
+        }
+    }
+
+    /**
+     * 分组汇总
+     */
+    public static class Summary {
+
+        /** 键个数 */
+        private long keys;
+        /** 元素个数之和 */
+        private long totalSize;
+        /** 内存占用字节数之和 */
+        private long totalMemoryUsage;
+
+        private void add(KeyInfo key) {
+            keys++;
+            totalSize += Math.max(0, key.getSize());
+            totalMemoryUsage += Math.max(0, key.getMemoryUsage());
+        }
+
+        private Summary copy() {
+            Summary copy = new Summary();
+            copy.keys = keys;
+            copy.totalSize = totalSize;
+            copy.totalMemoryUsage = totalMemoryUsage;
+            return copy;
+        }
+
+        public long getKeys() {
+            return keys;
+        }
+
+        public long getTotalSize() {
+            return totalSize;
+        }
+
+        public long getTotalMemoryUsage() {
+            return totalMemoryUsage;
+        }
+
+        @Override
+        public String toString() {
+            return "[keys: " + keys + ", size: " + totalSize + ", memory: " + totalMemoryUsage + "]";
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.mingrn.common.redis.client;
 import com.mingrn.common.redis.client.base.BaseRedisApi;
 import com.mingrn.common.redis.client.base.BaseRedisClient;
 import com.mingrn.common.redis.config.AbstractPoolConfig;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
+import com.mingrn.common.redis.util.number.NumberUtil;
 import redis.clients.jedis.*;
 import redis.clients.jedis.params.geo.GeoRadiusParam;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis 常用 API
@@ -105,6 +110,19 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public boolean setWithFencingToken(String key, String val, long fencingToken) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(RedisScripts.SET_WITH_FENCING_TOKEN,
+                    Arrays.asList(key, key + RedisScripts.FENCING_TOKEN_KEY_SUFFIX), Arrays.asList(val, String.valueOf(fencingToken)));
+            return Long.valueOf(1L).equals(result);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public String get(String key) {
         Jedis jedis = null;
@@ -341,6 +359,19 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public boolean hSetWithFencingToken(String key, String field, String val, long fencingToken) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(RedisScripts.HSET_WITH_FENCING_TOKEN,
+                    Arrays.asList(key, key + RedisScripts.FENCING_TOKEN_KEY_SUFFIX), Arrays.asList(field, val, String.valueOf(fencingToken)));
+            return Long.valueOf(1L).equals(result);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public long hIncrBy(String key, String field, long val) {
         Jedis jedis = null;
@@ -374,6 +405,54 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public long hGetLong(String key, String field, long missingValue) {
+        byte[] val;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            val = jedis.hget(key.getBytes(StandardCharsets.UTF_8), field.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            T.releaseResource(jedis);
+        }
+        return val == null ? missingValue : NumberUtil.parseLong(val);
+    }
+
+    @Override
+    public double hGetDouble(String key, String field, double missingValue) {
+        byte[] val;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            val = jedis.hget(key.getBytes(StandardCharsets.UTF_8), field.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            T.releaseResource(jedis);
+        }
+        return val == null ? missingValue : NumberUtil.parseDouble(val);
+    }
+
+    @Override
+    public long[] hManyGetLongs(String key, long missingValue, String... fields) {
+        byte[][] binaryFields = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            binaryFields[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> vals;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            vals = jedis.hmget(key.getBytes(StandardCharsets.UTF_8), binaryFields);
+        } finally {
+            T.releaseResource(jedis);
+        }
+        long[] results = new long[vals.size()];
+        for (int i = 0; i < results.length; i++) {
+            byte[] val = vals.get(i);
+            results[i] = val == null ? missingValue : NumberUtil.parseLong(val);
+        }
+        return results;
+    }
+
     @Override
     public Map<String, String> hGetAll(String key) {
         Jedis jedis = null;
@@ -407,6 +486,16 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public List<Map<String, String>> hGetAllMulti(Collection<String> keys) {
+        return pipelineEach(keys, Pipeline::hgetAll);
+    }
+
+    @Override
+    public List<List<String>> hManyGetMulti(Collection<String> keys, String... fields) {
+        return pipelineEach(keys, (pipeline, key) -> pipeline.hmget(key, fields));
+    }
+
     @Override
     public Long hLen(String key) {
         Jedis jedis = null;
@@ -462,6 +551,16 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public Stream<Map.Entry<String, String>> hScanStream(String key) {
+        return hScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, String>> hScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> hScan(key, cursor, params), pattern, targetMillis);
+    }
+
     @Override
     public Long hDel(String key, String... field) {
         Jedis jedis = null;
@@ -638,6 +737,16 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public Stream<String> setScanStream(String key) {
+        return setScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<String> setScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> setScan(key, cursor, params), pattern, targetMillis);
+    }
+
     @Override
     public Long sortSetAdd(String key, String member, double score) {
         Jedis jedis = null;
@@ -759,6 +868,11 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
         }
     }
 
+    @Override
+    public Stream<Tuple> sortSetRangeByScoreStream(String key, double minScore, double maxScore, boolean reversed, int pageSize) {
+        return scoreRangeStream(key, minScore, maxScore, reversed, pageSize);
+    }
+
     @Override
     public Set<Tuple> sortSetRangeByScoreWithScores(String key, double minScore, double maxScore, boolean reversed) {
         return sortSetRangeByScoreWithScores(key, minScore + "", maxScore + "", reversed);
@@ -896,4 +1010,14 @@ public class CommonsJedisClient<T extends AbstractPoolConfig> extends BaseRedisC
             T.releaseResource(jedis);
         }
     }
+
+    @Override
+    public Stream<Tuple> sortSetScanStream(String key) {
+        return sortSetScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<Tuple> sortSetScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> sortSetScan(key, cursor, params), pattern, targetMillis);
+    }
 }
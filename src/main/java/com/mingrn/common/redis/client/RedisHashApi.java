@@ -4,9 +4,11 @@ import com.mingrn.common.redis.client.base.BaseRedisApi;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis hash API
@@ -44,6 +46,22 @@ public interface RedisHashApi extends BaseRedisApi {
      */
     boolean hSetAndNotExist(String key, String field, String val);
 
+    /**
+     * 携带 fencing token 设置哈希字段值
+     * <p>
+     * token 由 {@link com.mingrn.common.redis.distributed.lock.RedisLock#tryGetDistributedLockWithFencingToken(String, String, int)}
+     * 获取. 服务端记录该键已接受的最大 token(保存在独立的 {@code key + ":fencing_token"} 中, 不占用哈希字段),
+     * 若本次 token 小于该值, 说明锁已被其他客户端重新获取, 本次写入被拒绝.
+     * 校验与写入在同一个 Lua 脚本中完成, 只需一次网络往返.
+     *
+     * @param key          键
+     * @param field        字段
+     * @param val          值
+     * @param fencingToken 获取锁时返回的 fencing token
+     * @return true: 写入成功, false: token 已过期, 写入被拒绝
+     */
+    boolean hSetWithFencingToken(String key, String field, String val, long fencingToken);
+
     /**
      * 指定字段做整型自增操作
      *
@@ -73,6 +91,39 @@ public interface RedisHashApi extends BaseRedisApi {
      */
     String hGet(String key, String field);
 
+    /**
+     * 获取指定字段的整数值, 直接从回复字节解析
+     *
+     * @param key          键
+     * @param field        字段
+     * @param missingValue 字段不存在时返回的值
+     * @return 字段值
+     * @throws NumberFormatException 字段值不是整数
+     */
+    long hGetLong(String key, String field, long missingValue);
+
+    /**
+     * 获取指定字段的浮点数值, 直接从回复字节解析
+     *
+     * @param key          键
+     * @param field        字段
+     * @param missingValue 字段不存在时返回的值
+     * @return 字段值
+     * @throws NumberFormatException 字段值不是浮点数
+     */
+    double hGetDouble(String key, String field, double missingValue);
+
+    /**
+     * 获取多个字段的整数值, 直接从回复字节解析
+     *
+     * @param key          键
+     * @param missingValue 字段不存在时对应位置的值, 如 {@link Long#MIN_VALUE}
+     * @param fields       字段
+     * @return 与字段一一对应
+     * @throws NumberFormatException 字段值不是整数
+     */
+    long[] hManyGetLongs(String key, long missingValue, String... fields);
+
     /**
      * 获取指定key所有字段 - 值
      *
@@ -96,6 +147,27 @@ public interface RedisHashApi extends BaseRedisApi {
      */
     List<String> hManyGet(String key, String... fields);
 
+    /**
+     * 批量获取多个键下所有字段
+     * <p>
+     * 按块在管道中执行 HGETALL, 每块一次网络往返.
+     *
+     * @param keys 键
+     * @return 与键的迭代顺序一一对应, 键不存在时为空 Map
+     */
+    List<Map<String, String>> hGetAllMulti(Collection<String> keys);
+
+    /**
+     * 批量获取多个键下多个字段
+     * <p>
+     * 按块在管道中执行 HMGET, 每块一次网络往返.
+     *
+     * @param keys   键
+     * @param fields 字段
+     * @return 与键的迭代顺序一一对应, 每个元素与字段一一对应, 字段不存在时为 null
+     */
+    List<List<String>> hManyGetMulti(Collection<String> keys, String... fields);
+
     /**
      * 获取指定key下字段数量
      *
@@ -145,6 +217,28 @@ public interface RedisHashApi extends BaseRedisApi {
      */
     ScanResult<Map.Entry<String, String>> hScan(final String key, final String cursor, final ScanParams params);
 
+    /**
+     * 以流的方式迭代哈希键值对, 内部驱动游标, 无需手写游标循环
+     * <p>
+     * 每页单独借还连接, 并在消费当前页时异步拉取下一页. COUNT 参数根据单次调用耗时自动调整,
+     * 默认目标耗时 {@value com.mingrn.common.redis.util.iterator.ScanIterator#DEFAULT_TARGET_MILLIS} 毫秒.
+     *
+     * @param key 键
+     * @return 哈希键值对流
+     */
+    Stream<Map.Entry<String, String>> hScanStream(final String key);
+
+    /**
+     * 以流的方式迭代哈希键值对, COUNT 参数根据单次调用耗时自动调整,
+     * 使迭代超大集合时既不会长时间阻塞 Redis, 也不会因 COUNT 过小而迭代过慢
+     *
+     * @param key          键
+     * @param pattern      匹配模式, 为空时匹配全部
+     * @param targetMillis 单次调用目标耗时(毫秒)
+     * @return 哈希键值对流
+     */
+    Stream<Map.Entry<String, String>> hScanStream(final String key, final String pattern, final long targetMillis);
+
     /**
      * 批量删除字段
      *
@@ -2,14 +2,20 @@ package com.mingrn.common.redis.client;
 
 import com.mingrn.common.redis.client.base.BaseRedisClient;
 import com.mingrn.common.redis.config.RedisPoolConfig;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
+import com.mingrn.common.redis.util.number.NumberUtil;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis Hash API
@@ -63,6 +69,19 @@ public class RedisHashClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public boolean hSetWithFencingToken(String key, String field, String val, long fencingToken) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(RedisScripts.HSET_WITH_FENCING_TOKEN,
+                    Arrays.asList(key, key + RedisScripts.FENCING_TOKEN_KEY_SUFFIX), Arrays.asList(field, val, String.valueOf(fencingToken)));
+            return Long.valueOf(1L).equals(result);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public long hIncrBy(String key, String field, long val) {
         Jedis jedis = null;
@@ -96,6 +115,54 @@ public class RedisHashClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public long hGetLong(String key, String field, long missingValue) {
+        byte[] val;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            val = jedis.hget(key.getBytes(StandardCharsets.UTF_8), field.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            T.releaseResource(jedis);
+        }
+        return val == null ? missingValue : NumberUtil.parseLong(val);
+    }
+
+    @Override
+    public double hGetDouble(String key, String field, double missingValue) {
+        byte[] val;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            val = jedis.hget(key.getBytes(StandardCharsets.UTF_8), field.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            T.releaseResource(jedis);
+        }
+        return val == null ? missingValue : NumberUtil.parseDouble(val);
+    }
+
+    @Override
+    public long[] hManyGetLongs(String key, long missingValue, String... fields) {
+        byte[][] binaryFields = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            binaryFields[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> vals;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            vals = jedis.hmget(key.getBytes(StandardCharsets.UTF_8), binaryFields);
+        } finally {
+            T.releaseResource(jedis);
+        }
+        long[] results = new long[vals.size()];
+        for (int i = 0; i < results.length; i++) {
+            byte[] val = vals.get(i);
+            results[i] = val == null ? missingValue : NumberUtil.parseLong(val);
+        }
+        return results;
+    }
+
     @Override
     public Map<String, String> hGetAll(String key) {
         Jedis jedis = null;
@@ -129,6 +196,16 @@ public class RedisHashClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public List<Map<String, String>> hGetAllMulti(Collection<String> keys) {
+        return pipelineEach(keys, Pipeline::hgetAll);
+    }
+
+    @Override
+    public List<List<String>> hManyGetMulti(Collection<String> keys, String... fields) {
+        return pipelineEach(keys, (pipeline, key) -> pipeline.hmget(key, fields));
+    }
+
     @Override
     public Long hLen(String key) {
         Jedis jedis = null;
@@ -194,4 +271,14 @@ public class RedisHashClient<T extends RedisPoolConfig> extends BaseRedisClient<
             T.releaseResource(jedis);
         }
     }
+
+    @Override
+    public Stream<Map.Entry<String, String>> hScanStream(String key) {
+        return hScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, String>> hScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> hScan(key, cursor, params), pattern, targetMillis);
+    }
 }
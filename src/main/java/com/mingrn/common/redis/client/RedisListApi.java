@@ -2,7 +2,10 @@ package com.mingrn.common.redis.client;
 
 import com.mingrn.common.redis.client.base.BaseRedisApi;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Redis List API
@@ -22,6 +25,45 @@ public interface RedisListApi extends BaseRedisApi {
      */
     Long listPush(String key, boolean fromRight, String... members);
 
+    /**
+     * 向列表分批插入大量元素
+     * <p>
+     * 元素按 batchSize 分批, 所有批次在一次管道中发送, 避免单条命令参数过多阻塞 Redis.
+     * 插入结果与使用 {@link #listPush(String, boolean, String...)} 一次插入所有元素相同, 但不保证原子性.
+     *
+     * @param key       键
+     * @param fromRight true: 从右边插入元素, false: 从左边
+     * @param batchSize 每批元素个数
+     * @param members   成员
+     * @return 插入后列表长度
+     */
+    Long listPushBatch(String key, boolean fromRight, int batchSize, String... members);
+
+    /**
+     * 向定长列表插入元素, 插入后只保留最新的 maxLen 个元素
+     * <p>
+     * 插入与修剪在同一个 Lua 脚本中完成, 只需一次网络往返, 列表长度也不会短暂超过上限.
+     * 常用于保存最近 N 条事件.
+     *
+     * @param key       键
+     * @param fromRight true: 从右边插入元素(保留右边 maxLen 个), false: 从左边插入元素(保留左边 maxLen 个)
+     * @param maxLen    列表长度上限
+     * @param members   成员, 为空时不修改列表
+     * @return 插入并修剪后的列表长度, 成员为空时返回当前列表长度
+     */
+    Long listPushCapped(String key, boolean fromRight, long maxLen, String... members);
+
+    /**
+     * 同 {@link #listPushCapped(String, boolean, long, String...)}, 一次向多个定长列表插入元素,
+     * 所有列表在一次管道中完成
+     *
+     * @param keyMembers 键 - 成员
+     * @param fromRight  true: 从右边插入元素, false: 从左边插入元素
+     * @param maxLen     列表长度上限
+     * @return 键 - 插入并修剪后的列表长度
+     */
+    Map<String, Long> listPushCapped(Map<String, List<String>> keyMembers, boolean fromRight, long maxLen);
+
     /**
      * 向列表指定元素前(后)插入元素
      *
@@ -42,6 +84,19 @@ public interface RedisListApi extends BaseRedisApi {
      */
     String listPop(String key, boolean fromRight);
 
+    /**
+     * 从列表中一次弹出最多 count 个元素
+     * <p>
+     * 使用 Lua 脚本执行 LRANGE + LTRIM, 弹出操作为原子操作, 只需一次网络往返.
+     * 返回顺序与连续调用 {@link #listPop(String, boolean)} 的弹出顺序一致.
+     *
+     * @param key       键
+     * @param count     最多弹出个数
+     * @param fromRight true: 从列表右边弹出, false: 从列表左边弹出元素
+     * @return 弹出的元素, 列表为空时返回空集合
+     */
+    List<String> listPopBatch(String key, int count, boolean fromRight);
+
     /**
      * 从列表中删除一个元素(阻塞)
      *
@@ -52,6 +107,27 @@ public interface RedisListApi extends BaseRedisApi {
      */
     List<String> listBlockPop(boolean fromRight, int timeout, String... keys);
 
+    /**
+     * 从 source 列表右边弹出一个元素, 并插入到 destination 列表左边, 返回该元素
+     * <p>
+     * 弹出与插入为原子操作, 常用于可靠队列: 将待处理元素转移到处理中列表, 处理完成后再删除.
+     *
+     * @param source      源列表
+     * @param destination 目标列表
+     * @return 转移的元素, source 为空时返回 null
+     */
+    String listPopAndPush(String source, String destination);
+
+    /**
+     * 同 {@link #listPopAndPush(String, String)}, source 为空时阻塞等待
+     *
+     * @param source      源列表
+     * @param destination 目标列表
+     * @param timeout     超时时间(秒), 0 表示一直阻塞
+     * @return 转移的元素, 超时返回 null
+     */
+    String listBlockPopAndPush(String source, String destination, int timeout);
+
     /**
      * 删除列表中等于 member 的成员(元素)
      * <p>
@@ -96,6 +172,27 @@ public interface RedisListApi extends BaseRedisApi {
      */
     List<String> listRange(String key, long start, long end);
 
+    /**
+     * 分页迭代列表元素, 替代 {@code listRange(key, 0, -1)} 一次性加载整个列表
+     * <p>
+     * 每次使用 LRANGE 拉取 pageSize 个元素, 并在消费当前页时异步预取下一页.
+     * 迭代过程中列表被修改(如头部插入或删除元素)时, 可能出现元素重复或遗漏.
+     *
+     * @param key      键
+     * @param pageSize 每页元素个数
+     * @return 元素迭代器
+     */
+    Iterator<String> listIterator(String key, int pageSize);
+
+    /**
+     * 同 {@link #listIterator(String, int)}, 以顺序流的方式返回
+     *
+     * @param key      键
+     * @param pageSize 每页元素个数
+     * @return 元素流
+     */
+    Stream<String> listStream(String key, int pageSize);
+
     /**
      * 获取指定下标下的元素
      *
@@ -2,10 +2,21 @@ package com.mingrn.common.redis.client;
 
 import com.mingrn.common.redis.client.base.BaseRedisClient;
 import com.mingrn.common.redis.config.RedisPoolConfig;
+import com.mingrn.common.redis.util.iterator.PrefetchIterator;
 import redis.clients.jedis.Client;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.util.SafeEncoder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Redis List API
@@ -35,6 +46,88 @@ public class RedisListClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public Long listPushBatch(String key, boolean fromRight, int batchSize, String... members) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch Size Must Be Positive: " + batchSize);
+        }
+        if (members.length <= batchSize) {
+            return listPush(key, fromRight, members);
+        }
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            Response<Long> len = null;
+            for (int from = 0; from < members.length; from += batchSize) {
+                String[] batch = Arrays.copyOfRange(members, from, Math.min(from + batchSize, members.length));
+                len = fromRight ? pipeline.rpush(key, batch) : pipeline.lpush(key, batch);
+            }
+            pipeline.sync();
+            return len.get();
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
+    @Override
+    public Long listPushCapped(String key, boolean fromRight, long maxLen, String... members) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("Max Length Must Be Positive: " + maxLen);
+        }
+        if (members.length == 0) {
+            return listLen(key);
+        }
+        List<String> args = new ArrayList<>(members.length + 2);
+        args.add(String.valueOf(maxLen));
+        args.add(fromRight ? "1" : "0");
+        Collections.addAll(args, members);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return (Long) jedis.eval(RedisScripts.LIST_PUSH_CAPPED, Collections.singletonList(key), args);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
+    @Override
+    public Map<String, Long> listPushCapped(Map<String, List<String>> keyMembers, boolean fromRight, long maxLen) {
+        if (maxLen <= 0) {
+            throw new IllegalArgumentException("Max Length Must Be Positive: " + maxLen);
+        }
+        byte[] script = SafeEncoder.encode(RedisScripts.LIST_PUSH_CAPPED);
+        byte[] maxLenArg = SafeEncoder.encode(String.valueOf(maxLen));
+        byte[] directionArg = SafeEncoder.encode(fromRight ? "1" : "0");
+        Map<String, Response<Object>> responses = new LinkedHashMap<>(keyMembers.size() * 4 / 3 + 1);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, List<String>> entry : keyMembers.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    continue;
+                }
+                List<byte[]> args = new ArrayList<>(entry.getValue().size() + 2);
+                args.add(maxLenArg);
+                args.add(directionArg);
+                for (String member : entry.getValue()) {
+                    args.add(SafeEncoder.encode(member));
+                }
+                responses.put(entry.getKey(), pipeline.eval(script, Collections.singletonList(SafeEncoder.encode(entry.getKey())), args));
+            }
+            pipeline.sync();
+        } finally {
+            T.releaseResource(jedis);
+        }
+
+        Map<String, Long> lengths = new LinkedHashMap<>(responses.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Response<Object>> entry : responses.entrySet()) {
+            lengths.put(entry.getKey(), (Long) entry.getValue().get());
+        }
+        return lengths;
+    }
+
     @Override
     public Long listInsert(String key, boolean before, String pivot, String member) {
         Jedis jedis = null;
@@ -57,6 +150,22 @@ public class RedisListClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> listPopBatch(String key, int count, boolean fromRight) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return (List<String>) jedis.eval(RedisScripts.LIST_POP_BATCH, Collections.singletonList(key),
+                    Arrays.asList(String.valueOf(count), fromRight ? "1" : "0"));
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public List<String> listBlockPop(boolean fromRight, int timeout, String... keys) {
         Jedis jedis = null;
@@ -68,6 +177,28 @@ public class RedisListClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public String listPopAndPush(String source, String destination) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.rpoplpush(source, destination);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
+    @Override
+    public String listBlockPopAndPush(String source, String destination, int timeout) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.brpoplpush(source, destination, timeout);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public Long listRemove(String key, int count, String member) {
         Jedis jedis = null;
@@ -101,6 +232,16 @@ public class RedisListClient<T extends RedisPoolConfig> extends BaseRedisClient<
         }
     }
 
+    @Override
+    public Iterator<String> listIterator(String key, int pageSize) {
+        return new ListPageIterator(key, pageSize);
+    }
+
+    @Override
+    public Stream<String> listStream(String key, int pageSize) {
+        return new ListPageIterator(key, pageSize).stream();
+    }
+
     @Override
     public String listGetByIndex(String key, long index) {
         Jedis jedis = null;
@@ -133,4 +274,32 @@ public class RedisListClient<T extends RedisPoolConfig> extends BaseRedisClient<
             T.releaseResource(jedis);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 按 LRANGE 窗口分页的预取迭代器
+     */
+    private class ListPageIterator extends PrefetchIterator<String> {
+
+        private final String key;
+        private final int pageSize;
+        private long start;
+
+        ListPageIterator(String key, int pageSize) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("Page Size Must Be Positive: " + pageSize);
+            }
+            this.key = key;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        protected List<String> fetchPage() {
+            List<String> page = listRange(key, start, start + pageSize - 1);
+            start += page.size();
+            if (page.size() < pageSize) {
+                finish();
+            }
+            return page;
+        }
+    }
+}
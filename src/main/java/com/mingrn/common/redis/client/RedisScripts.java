@@ -0,0 +1,82 @@
+package com.mingrn.common.redis.client;
+
+/**
+ * 客户端共用 Lua 脚本
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 20:20
+ */
+final class RedisScripts {
+
+    private RedisScripts() {
+    }
+
+    /** 键对应的 fencing token 键后缀 */
+    static final String FENCING_TOKEN_KEY_SUFFIX = ":fencing_token";
+
+    /**
+     * 携带 fencing token 写字符串, token 小于已接受的最大 token 时拒绝写入
+     * <p>
+     * KEYS[1]: 键, KEYS[2]: token 键
+     * ARGV[1]: 值, ARGV[2]: token
+     */
+    static final String SET_WITH_FENCING_TOKEN
+            = "local current = redis.call('get', KEYS[2]) "
+            + "if current and tonumber(current) > tonumber(ARGV[2]) then return 0 end "
+            + "redis.call('set', KEYS[2], ARGV[2]) "
+            + "redis.call('set', KEYS[1], ARGV[1]) "
+            + "return 1";
+
+    /**
+     * 携带 fencing token 写哈希字段, token 小于已接受的最大 token 时拒绝写入
+     * <p>
+     * KEYS[1]: 键, KEYS[2]: token 键
+     * ARGV[1]: 字段, ARGV[2]: 值, ARGV[3]: token
+     */
+    static final String HSET_WITH_FENCING_TOKEN
+            = "local current = redis.call('get', KEYS[2]) "
+            + "if current and tonumber(current) > tonumber(ARGV[3]) then return 0 end "
+            + "redis.call('set', KEYS[2], ARGV[3]) "
+            + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) "
+            + "return 1";
+
+    /**
+     * 一次弹出多个列表元素, 返回顺序与逐个弹出顺序一致
+     * <p>
+     * KEYS[1]: 键
+     * ARGV[1]: 最多弹出个数, ARGV[2]: 1 从右边弹出, 0 从左边弹出
+     */
+    static final String LIST_POP_BATCH
+            = "local n = tonumber(ARGV[1]) "
+            + "if ARGV[2] == '1' then "
+            + "  local items = redis.call('lrange', KEYS[1], -n, -1) "
+            + "  redis.call('ltrim', KEYS[1], 0, -n - 1) "
+            + "  local popped = {} "
+            + "  for i = #items, 1, -1 do popped[#popped + 1] = items[i] end "
+            + "  return popped "
+            + "end "
+            + "local items = redis.call('lrange', KEYS[1], 0, n - 1) "
+            + "redis.call('ltrim', KEYS[1], n, -1) "
+            + "return items";
+
+    /**
+     * 向定长列表插入元素并修剪, 返回修剪后的列表长度
+     * <p>
+     * KEYS[1]: 键
+     * ARGV[1]: 列表长度上限, ARGV[2]: 1 从右边插入, 0 从左边插入, ARGV[3...]: 成员(至少一个)
+     * <p>
+     * 只插入最后 maxLen 个成员, 并按每 1000 个成员一次分批插入, 避免 unpack 超过 Lua 栈上限.
+     */
+    static final String LIST_PUSH_CAPPED
+            = "local maxLen = tonumber(ARGV[1]) "
+            + "local push = ARGV[2] == '1' and 'rpush' or 'lpush' "
+            + "local len "
+            + "for i = math.max(3, #ARGV - maxLen + 1), #ARGV, 1000 do "
+            + "  len = redis.call(push, KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) "
+            + "end "
+            + "if len > maxLen then "
+            + "  if ARGV[2] == '1' then redis.call('ltrim', KEYS[1], -maxLen, -1) "
+            + "  else redis.call('ltrim', KEYS[1], 0, maxLen - 1) end "
+            + "end "
+            + "return math.min(len, maxLen)";
+}
@@ -5,6 +5,7 @@ import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis SET API
@@ -156,4 +157,26 @@ public interface RedisSetApi extends BaseRedisApi {
      * @return 成员集合
      */
     ScanResult<String> setScan(final String key, final String cursor, final ScanParams params);
+
+    /**
+     * 以流的方式迭代集合成员, 内部驱动游标, 无需手写游标循环
+     * <p>
+     * 每页单独借还连接, 并在消费当前页时异步拉取下一页. COUNT 参数根据单次调用耗时自动调整,
+     * 默认目标耗时 {@value com.mingrn.common.redis.util.iterator.ScanIterator#DEFAULT_TARGET_MILLIS} 毫秒.
+     *
+     * @param key 键
+     * @return 集合成员流
+     */
+    Stream<String> setScanStream(final String key);
+
+    /**
+     * 以流的方式迭代集合成员, COUNT 参数根据单次调用耗时自动调整,
+     * 使迭代超大集合时既不会长时间阻塞 Redis, 也不会因 COUNT 过小而迭代过慢
+     *
+     * @param key          键
+     * @param pattern      匹配模式, 为空时匹配全部
+     * @param targetMillis 单次调用目标耗时(毫秒)
+     * @return 集合成员流
+     */
+    Stream<String> setScanStream(final String key, final String pattern, final long targetMillis);
 }
\ No newline at end of file
@@ -2,11 +2,13 @@ package com.mingrn.common.redis.client;
 
 import com.mingrn.common.redis.client.base.BaseRedisClient;
 import com.mingrn.common.redis.config.RedisPoolConfig;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis SET API
@@ -189,4 +191,14 @@ public class RedisSetClient<T extends RedisPoolConfig> extends BaseRedisClient<T
             T.releaseResource(jedis);
         }
     }
+
+    @Override
+    public Stream<String> setScanStream(String key) {
+        return setScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<String> setScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> setScan(key, cursor, params), pattern, targetMillis);
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import redis.clients.jedis.ZParams;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis Sort Set API
@@ -173,6 +174,22 @@ public interface RedisSortSetApi extends BaseRedisApi {
      */
     Set<String> sortSetRangeByScore(String key, String minScore, String maxScore, boolean reversed, int offset, int count);
 
+    /**
+     * 惰性迭代指定分数范围内的成员及分数
+     * <p>
+     * 与 {@link #sortSetRangeByScore(String, double, double, boolean, int, int)} 使用 offset 翻页不同,
+     * 该接口记住上一页最后一个成员及分数并从其之后继续, 每页的开销与翻页深度无关, 适用于遍历数百万成员.
+     *
+     * @param key      键
+     * @param minScore 最小分数, 支持 {@link Double#NEGATIVE_INFINITY}
+     * @param maxScore 最大分数, 支持 {@link Double#POSITIVE_INFINITY}
+     * @param reversed true: 按分数由高到低排名.
+     *                 false: 按分数由低到高排名.
+     * @param pageSize 每页个数
+     * @return 成员及分数的流
+     */
+    Stream<Tuple> sortSetRangeByScoreStream(String key, double minScore, double maxScore, boolean reversed, int pageSize);
+
     /**
      * 获取指定分数范围内的成员, 并返回成员分数
      *
@@ -339,4 +356,26 @@ public interface RedisSortSetApi extends BaseRedisApi {
      * @return 成员集合
      */
     ScanResult<Tuple> sortSetScan(final String key, final String cursor, final ScanParams params);
+
+    /**
+     * 以流的方式迭代有序集合成员及分数, 内部驱动游标, 无需手写游标循环
+     * <p>
+     * 每页单独借还连接, 并在消费当前页时异步拉取下一页. COUNT 参数根据单次调用耗时自动调整,
+     * 默认目标耗时 {@value com.mingrn.common.redis.util.iterator.ScanIterator#DEFAULT_TARGET_MILLIS} 毫秒.
+     *
+     * @param key 键
+     * @return 有序集合成员及分数流
+     */
+    Stream<Tuple> sortSetScanStream(final String key);
+
+    /**
+     * 以流的方式迭代有序集合成员及分数, COUNT 参数根据单次调用耗时自动调整,
+     * 使迭代超大集合时既不会长时间阻塞 Redis, 也不会因 COUNT 过小而迭代过慢
+     *
+     * @param key          键
+     * @param pattern      匹配模式, 为空时匹配全部
+     * @param targetMillis 单次调用目标耗时(毫秒)
+     * @return 有序集合成员及分数流
+     */
+    Stream<Tuple> sortSetScanStream(final String key, final String pattern, final long targetMillis);
 }
@@ -2,10 +2,12 @@ package com.mingrn.common.redis.client;
 
 import com.mingrn.common.redis.client.base.BaseRedisClient;
 import com.mingrn.common.redis.config.RedisPoolConfig;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
 import redis.clients.jedis.*;
 import redis.clients.jedis.params.sortedset.ZAddParams;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Redis Sort Set API
@@ -145,6 +147,11 @@ public class RedisSortSetClient<T extends RedisPoolConfig> extends BaseRedisClie
         }
     }
 
+    @Override
+    public Stream<Tuple> sortSetRangeByScoreStream(String key, double minScore, double maxScore, boolean reversed, int pageSize) {
+        return scoreRangeStream(key, minScore, maxScore, reversed, pageSize);
+    }
+
     @Override
     public Set<Tuple> sortSetRangeByScoreWithScores(String key, double minScore, double maxScore, boolean reversed) {
         return sortSetRangeByScoreWithScores(key, minScore + "", maxScore + "", reversed);
@@ -282,4 +289,14 @@ public class RedisSortSetClient<T extends RedisPoolConfig> extends BaseRedisClie
             T.releaseResource(jedis);
         }
     }
+
+    @Override
+    public Stream<Tuple> sortSetScanStream(String key) {
+        return sortSetScanStream(key, null, ScanIterator.DEFAULT_TARGET_MILLIS);
+    }
+
+    @Override
+    public Stream<Tuple> sortSetScanStream(String key, String pattern, long targetMillis) {
+        return scanStream((cursor, params) -> sortSetScan(key, cursor, params), pattern, targetMillis);
+    }
 }
\ No newline at end of file
@@ -80,6 +80,21 @@ public interface RedisStringApi extends BaseRedisApi {
      */
     boolean setExpireAtMillis(String key, String val, long millis, boolean binary, boolean existOrNot);
 
+    /**
+     * 携带 fencing token 设置键 - 值
+     * <p>
+     * token 由 {@link com.mingrn.common.redis.distributed.lock.RedisLock#tryGetDistributedLockWithFencingToken(String, String, int)}
+     * 获取. 服务端记录该键已接受的最大 token(保存在 {@code key + ":fencing_token"} 中),
+     * 若本次 token 小于该值, 说明锁已被其他客户端重新获取, 本次写入被拒绝.
+     * 校验与写入在同一个 Lua 脚本中完成, 只需一次网络往返.
+     *
+     * @param key          键
+     * @param val          值
+     * @param fencingToken 获取锁时返回的 fencing token
+     * @return true: 写入成功, false: token 已过期, 写入被拒绝
+     */
+    boolean setWithFencingToken(String key, String val, long fencingToken);
+
     /**
      * 通过键获取值
      *
@@ -5,6 +5,7 @@ import com.mingrn.common.redis.config.RedisPoolConfig;
 import redis.clients.jedis.Jedis;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Redis String API
@@ -97,6 +98,19 @@ public class RedisStringClient<T extends RedisPoolConfig> extends BaseRedisClien
         }
     }
 
+    @Override
+    public boolean setWithFencingToken(String key, String val, long fencingToken) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(RedisScripts.SET_WITH_FENCING_TOKEN,
+                    Arrays.asList(key, key + RedisScripts.FENCING_TOKEN_KEY_SUFFIX), Arrays.asList(val, String.valueOf(fencingToken)));
+            return Long.valueOf(1L).equals(result);
+        } finally {
+            T.releaseResource(jedis);
+        }
+    }
+
     @Override
     public String get(String key) {
         Jedis jedis = null;
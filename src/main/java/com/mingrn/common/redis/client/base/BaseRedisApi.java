@@ -3,6 +3,10 @@ package com.mingrn.common.redis.client.base;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
+import java.util.Collection;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
 /**
  * Redis 基础共用接口
  *
@@ -100,6 +104,45 @@ public interface BaseRedisApi {
      */
     Long ttlInMillis(String key);
 
+    /**
+     * 批量设置过期时间,秒级
+     * <p>
+     * 按块在管道中执行 EXPIRE, 每块一次网络往返.
+     *
+     * @param keys    键
+     * @param seconds 超时(过期)时间,单位秒
+     * @return 设置成功个数
+     */
+    long expireAll(Collection<String> keys, int seconds);
+
+    /**
+     * 批量清除过期时间
+     *
+     * @param keys 键
+     * @return 已清除过期时间的个数
+     */
+    long persistAll(Collection<String> keys);
+
+    /**
+     * 批量查看剩余超时(过期)时间,秒级
+     *
+     * @param keys 键
+     * @return 与键的迭代顺序一一对应, -1: 键未设置过期时间 -2:键不存在 >0:剩余过期时间(秒级)
+     */
+    long[] ttlAll(Collection<String> keys);
+
+    /**
+     * 为匹配模式的所有键设置过期时间,秒级
+     * <p>
+     * 使用 SCAN 迭代匹配的键, 每 batchSize 个键在一次管道中设置过期时间.
+     *
+     * @param pattern   匹配模式, 如 {@code user:*}
+     * @param seconds   超时(过期)时间,单位秒
+     * @param batchSize 每批键个数
+     * @return 设置成功个数
+     */
+    long expireByPattern(String pattern, int seconds, int batchSize);
+
     /**
      * 查看键是否存在
      *
@@ -172,4 +215,48 @@ public interface BaseRedisApi {
      * @return 迭代结果key集合
      */
     ScanResult<String> scan(final String cursor, final ScanParams params);
+
+    /**
+     * 以流的方式迭代数据库中的键, 内部驱动游标, 无需手写游标循环.
+     * <p>
+     * 每页单独借还连接, 并在消费当前页时异步拉取下一页.
+     * 与 {@link #scan(String, ScanParams)} 一致, 迭代过程中被修改的键可能重复返回.
+     *
+     * <pre>{@code
+     *   client.scanKeys(new ScanParams().match("user:*").count(1000))
+     *         .forEach(key -> ...);
+     * }</pre>
+     *
+     * @param params 匹配模式
+     * @return 键流
+     * @see RedisKeyspaceScanner#scanKeys(ScanParams, java.util.Collection)
+     */
+    Stream<String> scanKeys(final ScanParams params);
+
+    /**
+     * 删除匹配模式的所有键
+     * <p>
+     * 同 {@link #deleteByPattern(String, int, double, LongConsumer)}, 不限速, 不报告进度.
+     *
+     * @param pattern   匹配模式, 如 {@code user:*}
+     * @param batchSize 每批删除的键个数
+     * @return 删除成功个数
+     */
+    long deleteByPattern(String pattern, int batchSize);
+
+    /**
+     * 删除匹配模式的所有键
+     * <p>
+     * 使用 SCAN 迭代匹配的键, 按 batchSize 分批, 每批在一次管道中使用 UNLINK 删除,
+     * 值的内存由 Redis 后台线程回收, 删除大键不会阻塞 Redis. Redis 4.0 以下不支持 UNLINK 时自动降级为 DEL.
+     * <p>
+     * 删除速度不超过 maxKeysPerSecond, 每删除一批通过 progress 报告累计删除个数.
+     *
+     * @param pattern          匹配模式, 如 {@code user:*}
+     * @param batchSize        每批删除的键个数
+     * @param maxKeysPerSecond 每秒最多删除的键个数, 小于等于 0 表示不限速
+     * @param progress         进度回调, 参数为累计删除个数, 可为空
+     * @return 删除成功个数
+     */
+    long deleteByPattern(String pattern, int batchSize, double maxKeysPerSecond, LongConsumer progress);
 }
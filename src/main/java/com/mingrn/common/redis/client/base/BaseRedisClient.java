@@ -1,10 +1,27 @@
 package com.mingrn.common.redis.client.base;
 
+import com.google.common.util.concurrent.RateLimiter;
 import com.mingrn.common.redis.config.AbstractPoolConfig;
 import com.mingrn.common.redis.config.RedisPoolConfig;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
+import com.mingrn.common.redis.util.iterator.ScoreRangeIterator;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 /**
  * Redis 基础接口共用抽象类
@@ -16,6 +33,18 @@ public abstract class BaseRedisClient<T extends AbstractPoolConfig> implements B
 
     protected T poolConfig;
 
+    /** Redis 是否支持 UNLINK 命令, 首次执行失败后降级为 DEL */
+    private volatile boolean unlinkSupported = true;
+
+    /** 单个 UNLINK 命令包含的键个数上限 */
+    private static final int UNLINK_CHUNK_SIZE = 100;
+
+    /** 批量命令每次管道包含的命令个数上限 */
+    protected static final int PIPELINE_CHUNK_SIZE = 1000;
+
+    /** Jedis 2.9 没有 UNLINK 命令, 通过脚本调用 */
+    private static final byte[] UNLINK_LUA_SCRIPT = SafeEncoder.encode("return redis.call('unlink', unpack(KEYS))");
+
     public BaseRedisClient() {
     }
 
@@ -133,6 +162,126 @@ public abstract class BaseRedisClient<T extends AbstractPoolConfig> implements B
         }
     }
 
+    @Override
+    public long expireAll(Collection<String> keys, int seconds) {
+        return count(pipelineEachLong(keys, (pipeline, key) -> pipeline.expire(key, seconds)));
+    }
+
+    @Override
+    public long persistAll(Collection<String> keys) {
+        return count(pipelineEachLong(keys, Pipeline::persist));
+    }
+
+    @Override
+    public long[] ttlAll(Collection<String> keys) {
+        return pipelineEachLong(keys, Pipeline::ttl);
+    }
+
+    @Override
+    public long expireByPattern(String pattern, int seconds, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch Size Must Be Positive: " + batchSize);
+        }
+        Iterator<String> keys = scanKeys(new ScanParams().match(pattern).count(batchSize)).iterator();
+        List<String> batch = new ArrayList<>(batchSize);
+        long expired = 0;
+        while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() >= batchSize || !keys.hasNext()) {
+                expired += expireAll(batch, seconds);
+                batch.clear();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 对每个键执行一条整数回复的命令, 结果转为 long 数组, 便于 {@link #count(long[])} 等调用方处理
+     *
+     * @param keys    键
+     * @param command 命令
+     * @return 与键的迭代顺序一一对应的命令结果
+     */
+    private long[] pipelineEachLong(Collection<String> keys, BiFunction<Pipeline, String, Response<Long>> command) {
+        return pipelineEach(keys, command).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 对每个键执行一条命令, 每 {@link #PIPELINE_CHUNK_SIZE} 条命令一次管道.
+     * 供子类的多键批量读取使用.
+     *
+     * @param keys    键
+     * @param command 命令
+     * @return 与键的迭代顺序一一对应的命令结果
+     */
+    protected <R> List<R> pipelineEach(Collection<String> keys, BiFunction<Pipeline, String, Response<R>> command) {
+        List<R> results = new ArrayList<>(keys.size());
+        Iterator<String> iterator = keys.iterator();
+        List<Response<R>> responses = new ArrayList<>(Math.min(keys.size(), PIPELINE_CHUNK_SIZE));
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            while (iterator.hasNext()) {
+                Pipeline pipeline = jedis.pipelined();
+                responses.clear();
+                while (iterator.hasNext() && responses.size() < PIPELINE_CHUNK_SIZE) {
+                    responses.add(command.apply(pipeline, iterator.next()));
+                }
+                pipeline.sync();
+                for (Response<R> response : responses) {
+                    results.add(response.get());
+                }
+            }
+        } finally {
+            T.releaseResource(jedis);
+        }
+        return results;
+    }
+
+    /**
+     * 按页迭代有序集合分数区间内的成员, 每页在键上执行一次 {@link ScoreRangeIterator} 的翻页脚本
+     *
+     * @param key      键
+     * @param minScore 最小分数(含)
+     * @param maxScore 最大分数(含)
+     * @param reversed true: 按分数由高到低, false: 按分数由低到高
+     * @param pageSize 每页个数
+     * @return 成员及分数流
+     */
+    protected Stream<Tuple> scoreRangeStream(String key, double minScore, double maxScore, boolean reversed, int pageSize) {
+        return new ScoreRangeIterator((script, args) -> {
+            Jedis jedis = null;
+            try {
+                jedis = poolConfig.acquireResource();
+                return jedis.eval(script, Collections.singletonList(key), args);
+            } finally {
+                T.releaseResource(jedis);
+            }
+        }, minScore, maxScore, reversed, pageSize).stream();
+    }
+
+    /**
+     * 以流的方式迭代单个键内的元素(HSCAN/SSCAN/ZSCAN), 每页单独借还连接, COUNT 参数根据单次调用耗时自动调整
+     *
+     * @param scanner      单次扫描, 参数为游标及扫描参数
+     * @param pattern      匹配模式, 为空时匹配全部
+     * @param targetMillis 单次调用目标耗时(毫秒)
+     * @return 元素流
+     */
+    protected <E> Stream<E> scanStream(BiFunction<String, ScanParams, ScanResult<E>> scanner, String pattern, long targetMillis) {
+        return new ScanIterator<>(scanner, pattern, ScanIterator.DEFAULT_COUNT, targetMillis).stream();
+    }
+
+    private static long count(long[] results) {
+        long count = 0;
+        for (long result : results) {
+            if (result == 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public Long exists(String... keys) {
         Jedis jedis = null;
@@ -187,4 +336,89 @@ public abstract class BaseRedisClient<T extends AbstractPoolConfig> implements B
             T.releaseResource(jedis);
         }
     }
+
+    @Override
+    public Stream<String> scanKeys(ScanParams params) {
+        return new ScanIterator<>(this::scan, params).stream();
+    }
+
+    @Override
+    public long deleteByPattern(String pattern, int batchSize) {
+        return deleteByPattern(pattern, batchSize, 0, null);
+    }
+
+    @Override
+    public long deleteByPattern(String pattern, int batchSize, double maxKeysPerSecond, LongConsumer progress) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch Size Must Be Positive: " + batchSize);
+        }
+        RateLimiter rateLimiter = maxKeysPerSecond > 0 ? RateLimiter.create(maxKeysPerSecond) : null;
+        Iterator<String> keys = scanKeys(new ScanParams().match(pattern).count(batchSize)).iterator();
+        List<String> batch = new ArrayList<>(batchSize);
+        long deleted = 0;
+        while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() >= batchSize || !keys.hasNext()) {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire(batch.size());
+                }
+                deleted += unlink(batch);
+                batch.clear();
+                if (progress != null) {
+                    progress.accept(deleted);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 在一次管道中分组 UNLINK 删除键, 不支持 UNLINK 时降级为 DEL
+     *
+     * @param keys 键
+     * @return 删除成功个数
+     */
+    protected long unlink(List<String> keys) {
+        if (unlinkSupported) {
+            try {
+                return pipelineDelete(keys, true);
+            } catch (JedisDataException e) {
+                if (e.getMessage() == null || !e.getMessage().toLowerCase().contains("unknown")) {
+                    throw e;
+                }
+                unlinkSupported = false;
+            }
+        }
+        return pipelineDelete(keys, false);
+    }
+
+    private long pipelineDelete(List<String> keys, boolean unlink) {
+        List<Response<?>> responses = new ArrayList<>(keys.size() / UNLINK_CHUNK_SIZE + 1);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (int from = 0; from < keys.size(); from += UNLINK_CHUNK_SIZE) {
+                List<String> chunk = keys.subList(from, Math.min(from + UNLINK_CHUNK_SIZE, keys.size()));
+                if (unlink) {
+                    List<byte[]> chunkKeys = new ArrayList<>(chunk.size());
+                    for (String key : chunk) {
+                        chunkKeys.add(SafeEncoder.encode(key));
+                    }
+                    responses.add(pipeline.eval(UNLINK_LUA_SCRIPT, chunkKeys, Collections.<byte[]>emptyList()));
+                } else {
+                    responses.add(pipeline.del(chunk.toArray(new String[0])));
+                }
+            }
+            pipeline.sync();
+        } finally {
+            T.releaseResource(jedis);
+        }
+
+        long deleted = 0;
+        for (Response<?> response : responses) {
+            deleted += (Long) response.get();
+        }
+        return deleted;
+    }
 }
@@ -0,0 +1,72 @@
+package com.mingrn.common.redis.client.base;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import com.mingrn.common.redis.util.iterator.RoundRobinIterator;
+import com.mingrn.common.redis.util.iterator.ScanIterator;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanParams;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 键空间迭代工具
+ * <p>
+ * 直接基于连接池迭代键空间, 可同时迭代多个数据库或集群节点(每个数据库或节点对应一个连接池配置),
+ * 各数据源的游标迭代并发进行, 结果合并为一个流. 适用于夜间键维护等需要遍历全部键空间的任务.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisKeyspaceScanner.scanKeys(new ScanParams().match("session:*").count(1000), Arrays.asList(db0, db1, db2))
+ *           .forEach(key -> ...);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 22:50
+ * @see BaseRedisApi#scanKeys(ScanParams)
+ */
+public final class RedisKeyspaceScanner {
+
+    private RedisKeyspaceScanner() {
+    }
+
+    /**
+     * 迭代单个数据源的键
+     *
+     * @param params     匹配模式
+     * @param poolConfig 连接池
+     * @return 键流
+     */
+    public static Stream<String> scanKeys(ScanParams params, AbstractPoolConfig poolConfig) {
+        return iterator(params, poolConfig).stream();
+    }
+
+    /**
+     * 并发迭代多个数据源的键, 合并为一个流
+     *
+     * @param params      匹配模式
+     * @param poolConfigs 连接池, 每个数据库或集群节点对应一个
+     * @return 键流, 键的顺序不保证
+     */
+    public static Stream<String> scanKeys(ScanParams params, Collection<? extends AbstractPoolConfig> poolConfigs) {
+        List<ScanIterator<String>> iterators = new ArrayList<>(poolConfigs.size());
+        for (AbstractPoolConfig poolConfig : poolConfigs) {
+            iterators.add(iterator(params, poolConfig));
+        }
+        return new RoundRobinIterator<>(iterators).stream();
+    }
+
+    private static ScanIterator<String> iterator(ScanParams params, AbstractPoolConfig poolConfig) {
+        return new ScanIterator<>((cursor, scanParams) -> {
+            Jedis jedis = null;
+            try {
+                jedis = poolConfig.acquireResource();
+                return jedis.scan(cursor, scanParams);
+            } finally {
+                AbstractPoolConfig.releaseResource(jedis);
+            }
+        }, params);
+    }
+}
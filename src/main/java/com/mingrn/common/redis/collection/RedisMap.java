@@ -0,0 +1,232 @@
+package com.mingrn.common.redis.collection;
+
+import com.mingrn.common.redis.client.RedisHashApi;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于 Redis 哈希的 {@link Map} 视图
+ * <p>
+ * 所有操作直接读写 Redis, 不会将哈希加载到本地内存: {@link #get(Object)} 为 HGET, {@link #size()} 为 HLEN,
+ * {@link #putAll(Map)} 按块执行 HMSET, 迭代基于 HSCAN 逐页拉取, 适用于字段数很多的大哈希.
+ * <p>
+ * 注意:
+ * <ol>
+ * <li>{@link #put(Object, Object)}、{@link #remove(Object)} 需要返回旧值, 分别执行 HGET + HSET/HDEL 两条命令, 不保证原子性,
+ * 不需要旧值时使用 {@link #set(String, String)}、{@link #delete(String)}</li>
+ * <li>迭代遵循 HSCAN 语义: 迭代期间一直存在的字段至少返回一次, 迭代期间修改的字段可能返回多次或不返回</li>
+ * <li>{@code equals}、{@code hashCode}、{@code toString} 等继承自 {@link AbstractMap} 的方法会遍历整个哈希</li>
+ * </ol>
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   Map<String, String> profiles = new RedisMap(hashClient, "user:profiles");
+ *   profiles.put("1001", json);
+ *   profiles.forEach((id, profile) -> ...);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 23:40
+ */
+public class RedisMap extends AbstractMap<String, String> {
+
+    /** 哈希客户端 */
+    private final RedisHashApi hashApi;
+    /** 哈希键 */
+    private final String key;
+    /** {@link #putAll(Map)} 每条 HMSET 包含的字段个数 */
+    private final int batchSize;
+
+    private Set<Map.Entry<String, String>> entrySet;
+
+    /** 默认每条 HMSET 包含1000个字段 */
+    private final static int DEFAULT_BATCH_SIZE = 1000;
+
+    public RedisMap(final RedisHashApi hashApi, final String key) {
+        this(hashApi, key, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param hashApi   哈希客户端
+     * @param key       哈希键
+     * @param batchSize {@link #putAll(Map)} 每条 HMSET 包含的字段个数
+     */
+    public RedisMap(final RedisHashApi hashApi, final String key, final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch Size Must Be Positive: " + batchSize);
+        }
+        this.hashApi = hashApi;
+        this.key = key;
+        this.batchSize = batchSize;
+    }
+
+    /** 哈希键 */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public int size() {
+        Long len = hashApi.hLen(key);
+        return len == null ? 0 : (int) Math.min(len, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object field) {
+        return field instanceof String && Boolean.TRUE.equals(hashApi.hFieldExist(key, (String) field));
+    }
+
+    @Override
+    public String get(Object field) {
+        return field instanceof String ? hashApi.hGet(key, (String) field) : null;
+    }
+
+    @Override
+    public String put(String field, String val) {
+        String previous = hashApi.hGet(key, field);
+        set(field, val);
+        return previous;
+    }
+
+    @Override
+    public String remove(Object field) {
+        if (!(field instanceof String)) {
+            return null;
+        }
+        String previous = hashApi.hGet(key, (String) field);
+        if (previous != null) {
+            delete((String) field);
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends String> map) {
+        Map<String, String> chunk = new LinkedHashMap<>(Math.min(map.size(), batchSize) * 4 / 3 + 1);
+        for (Map.Entry<? extends String, ? extends String> entry : map.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() >= batchSize) {
+                hashApi.hManySet(key, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            hashApi.hManySet(key, chunk);
+        }
+    }
+
+    /** 删除整个哈希 */
+    @Override
+    public void clear() {
+        hashApi.delete(key);
+    }
+
+    /**
+     * 设置字段, 不返回旧值, 只需一条命令
+     *
+     * @param field 字段
+     * @param val   值
+     * @return true: 新增字段, false: 更新已有字段
+     */
+    public boolean set(String field, String val) {
+        return hashApi.hSet(key, field, val, false) == 1;
+    }
+
+    /**
+     * 删除字段, 不返回旧值, 只需一条命令
+     *
+     * @param field 字段
+     * @return 是否删除成功
+     */
+    public boolean delete(String field) {
+        Long deleted = hashApi.hDel(key, field);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * 基于 HSCAN 的字段集合
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            Iterator<Map.Entry<String, String>> scan = hashApi.hScanStream(key).iterator();
+            return new Iterator<Map.Entry<String, String>>() {
+
+                private Map.Entry<String, String> last;
+
+                @Override
+                public boolean hasNext() {
+                    return scan.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, String> next() {
+                    Map.Entry<String, String> entry = scan.next();
+                    last = new RedisEntry(entry.getKey(), entry.getValue());
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    delete(last.getKey());
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return RedisMap.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return RedisMap.this.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            RedisMap.this.clear();
+        }
+    }
+
+    /**
+     * 字段, {@link #setValue(String)} 直接写入 Redis
+     */
+    private class RedisEntry extends SimpleEntry<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        RedisEntry(String field, String val) {
+            super(field, val);
+        }
+
+        @Override
+        public String setValue(String val) {
+            set(getKey(), val);
+            return super.setValue(val);
+        }
+    }
+}
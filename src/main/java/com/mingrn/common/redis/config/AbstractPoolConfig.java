@@ -1,5 +1,6 @@
 package com.mingrn.common.redis.config;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisSentinelPool;
@@ -20,6 +21,9 @@ public abstract class AbstractPoolConfig extends Pool<Jedis> {
 
     JedisSentinelPool jedisSentinelPool;
 
+    /** 连接池最大连接数, 负数表示不限制 */
+    int maxTotal = GenericObjectPoolConfig.DEFAULT_MAX_TOTAL;
+
     /** acquire redis resource */
     public abstract Jedis acquireResource();
 
@@ -34,6 +38,15 @@ public abstract class AbstractPoolConfig extends Pool<Jedis> {
         }
     }
 
+    /**
+     * 连接池最大连接数
+     *
+     * @return 最大连接数, 负数表示不限制
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
     /** init */
     protected abstract void init();
 }
@@ -211,6 +211,7 @@ public class RedisPoolConfig extends AbstractPoolConfig {
         this.port = uri.getPort();
         this.host = uri.getHost();
         jedisPool = new JedisPool(poolConfig, uri, connectionTimeout, soTimeout);
+        maxTotal = poolConfig.getMaxTotal();
     }
 
     public RedisPoolConfig(final GenericObjectPoolConfig poolConfig, final URI uri, final int connectionTimeout,
@@ -218,6 +219,7 @@ public class RedisPoolConfig extends AbstractPoolConfig {
         this.port = uri.getPort();
         this.host = uri.getHost();
         jedisPool = new JedisPool(poolConfig, uri, connectionTimeout, soTimeout, sslSocketFactory, sslParameters, hostnameVerifier);
+        maxTotal = poolConfig.getMaxTotal();
     }
 
     public RedisPoolConfig(final GenericObjectPoolConfig poolConfig, final String host, int port,
@@ -227,5 +229,6 @@ public class RedisPoolConfig extends AbstractPoolConfig {
         this.port = port;
         this.host = host;
         jedisPool = new JedisPool(poolConfig, host, port, connectionTimeout, soTimeout, password, database, clientName, ssl, sslSocketFactory, sslParameters, hostnameVerifier);
+        maxTotal = poolConfig.getMaxTotal();
     }
 }
\ No newline at end of file
@@ -98,5 +98,6 @@ public class RedisSentinelPoolConfig extends AbstractPoolConfig {
         this.masterName = masterName;
         this.sentinels = sentinels;
         this.jedisSentinelPool = new JedisSentinelPool(masterName, sentinels, poolConfig, connectionTimeout, soTimeout, password, database, clientName);
+        this.maxTotal = poolConfig.getMaxTotal();
     }
 }
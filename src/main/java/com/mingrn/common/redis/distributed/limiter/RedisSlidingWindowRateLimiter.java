@@ -0,0 +1,249 @@
+package com.mingrn.common.redis.distributed.limiter;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 滑动窗口限流器
+ * <p>
+ * 每个限流规则对应一个有序集合, 成员为一次请求, 分数为请求时间(毫秒时间戳).
+ * 一次判断在同一个 Lua 脚本中完成: 依次清理各窗口外的请求并计数, 全部规则都未超限时才记录本次请求,
+ * 任一规则超限则不记录. 因此多条规则(如每秒、每分钟、每天)的判断是原子的, 且只需一次网络往返.
+ * <p>
+ * 同一限流对象的各规则键使用相同的 hash tag, 在集群模式下位于同一个槽.
+ * <p>
+ * 注意: 请求时间使用客户端时钟, 各节点之间的时钟偏差应远小于最小窗口; 每次请求在窗口内占用一个成员,
+ * 内存与窗口内请求数成正比, 不适合请求数极大的长窗口.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisSlidingWindowRateLimiter limiter = new RedisSlidingWindowRateLimiter(poolConfig, "limit:api",
+ *           Arrays.asList(Limit.perSecond(10), Limit.perMinute(300), Limit.perDay(10000)));
+ *   Result result = limiter.tryAcquire(userId);
+ *   if (!result.isAllowed()) {
+ *       // 告知调用方 result.getRetryAfterMillis() 毫秒后重试
+ *   }
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 01:10
+ */
+public class RedisSlidingWindowRateLimiter {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 限流键前缀 */
+    private final String keyPrefix;
+    /** 限流规则 */
+    private final List<Limit> limits;
+    /** 规则中最小的请求上限 */
+    private final long minMaxRequests;
+
+    /**
+     * KEYS[i]: 第 i 条规则的键
+     * ARGV[1]: 当前毫秒时间戳, ARGV[2]: 请求许可数, ARGV[3]: 请求标识,
+     * ARGV[2 + 2i]: 第 i 条规则的窗口毫秒数, ARGV[3 + 2i]: 第 i 条规则的请求上限
+     * 返回 {1 允许 0 拒绝, 剩余配额, 重试等待毫秒数}
+     */
+    private static final String ACQUIRE_LUA_SCRIPT
+            = "local now = tonumber(ARGV[1]) "
+            + "local permits = tonumber(ARGV[2]) "
+            + "local allowed = 1 "
+            + "local retryAfter = 0 "
+            + "local counts = {} "
+            + "for i = 1, #KEYS do "
+            + "  local window = tonumber(ARGV[2 + i * 2]) "
+            + "  local max = tonumber(ARGV[3 + i * 2]) "
+            + "  redis.call('zremrangebyscore', KEYS[i], '-inf', now - window) "
+            + "  local count = redis.call('zcard', KEYS[i]) "
+            + "  counts[i] = count "
+            + "  if count + permits > max then "
+            + "    allowed = 0 "
+            + "    local oldest = redis.call('zrange', KEYS[i], count + permits - max - 1, count + permits - max - 1, 'WITHSCORES') "
+            + "    local wait = window "
+            + "    if oldest[2] then wait = tonumber(oldest[2]) + window - now end "
+            + "    if wait > retryAfter then retryAfter = wait end "
+            + "  end "
+            + "end "
+            + "local remaining "
+            + "for i = 1, #KEYS do "
+            + "  local window = tonumber(ARGV[2 + i * 2]) "
+            + "  local left = tonumber(ARGV[3 + i * 2]) - counts[i] "
+            + "  if allowed == 1 then "
+            + "    for p = 1, permits do redis.call('zadd', KEYS[i], now, ARGV[3] .. ':' .. p) end "
+            + "    redis.call('pexpire', KEYS[i], window) "
+            + "    left = left - permits "
+            + "  end "
+            + "  if remaining == nil or left < remaining then remaining = left end "
+            + "end "
+            + "return {allowed, math.max(remaining, 0), retryAfter}";
+
+    /**
+     * @param poolConfig 连接池
+     * @param keyPrefix  限流键前缀, 规则键为 {@code keyPrefix:{限流对象}:窗口毫秒数}
+     * @param limits     限流规则, 窗口不能重复
+     */
+    public RedisSlidingWindowRateLimiter(final AbstractPoolConfig poolConfig, final String keyPrefix, final List<Limit> limits) {
+        if (limits.isEmpty()) {
+            throw new IllegalArgumentException("Limits Must Not Be Empty");
+        }
+        this.poolConfig = poolConfig;
+        this.keyPrefix = keyPrefix;
+        this.limits = new ArrayList<>(limits);
+        long min = Long.MAX_VALUE;
+        Set<Long> windows = new HashSet<>();
+        for (Limit limit : limits) {
+            if (!windows.add(limit.windowInMilliseconds)) {
+                throw new IllegalArgumentException("Duplicate Limit Window: " + limit.windowInMilliseconds + "ms");
+            }
+            min = Math.min(min, limit.maxRequests);
+        }
+        this.minMaxRequests = min;
+    }
+
+    /**
+     * 请求一个许可
+     *
+     * @param identity 限流对象, 如用户ID
+     * @return 限流结果
+     */
+    public Result tryAcquire(String identity) {
+        return tryAcquire(identity, 1);
+    }
+
+    /**
+     * 请求多个许可, 全部规则都有足够配额时才成功
+     *
+     * @param identity 限流对象, 如用户ID
+     * @param permits  许可数, 不能超过规则中最小的请求上限
+     * @return 限流结果
+     */
+    @SuppressWarnings("unchecked")
+    public Result tryAcquire(String identity, int permits) {
+        if (permits <= 0 || permits > minMaxRequests) {
+            throw new IllegalArgumentException("Permits Must Be In [1, " + minMaxRequests + "]: " + permits);
+        }
+        List<String> keys = new ArrayList<>(limits.size());
+        List<String> args = new ArrayList<>(3 + limits.size() * 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(permits));
+        args.add(Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        for (Limit limit : limits) {
+            keys.add(keyPrefix + ":{" + identity + "}:" + limit.windowInMilliseconds);
+            args.add(String.valueOf(limit.windowInMilliseconds));
+            args.add(String.valueOf(limit.maxRequests));
+        }
+
+        Object result;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            result = jedis.eval(ACQUIRE_LUA_SCRIPT, keys, args);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        List<Long> reply = (List<Long>) result;
+        return new Result(reply.get(0) == 1, reply.get(1), reply.get(2));
+    }
+
+    /**
+     * 清除限流对象的所有请求记录
+     *
+     * @param identity 限流对象
+     */
+    public void reset(String identity) {
+        String[] keys = new String[limits.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyPrefix + ":{" + identity + "}:" + limits.get(i).windowInMilliseconds;
+        }
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            jedis.del(keys);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 限流规则: 窗口内最多请求数
+     */
+    public static class Limit {
+
+        /** 窗口毫秒数 */
+        private final long windowInMilliseconds;
+        /** 窗口内请求上限 */
+        private final long maxRequests;
+
+        private Limit(long windowInMilliseconds, long maxRequests) {
+            if (windowInMilliseconds <= 0 || maxRequests <= 0) {
+                throw new IllegalArgumentException("Window And Max Requests Must Be Positive");
+            }
+            this.windowInMilliseconds = windowInMilliseconds;
+            this.maxRequests = maxRequests;
+        }
+
+        public static Limit of(long window, TimeUnit unit, long maxRequests) {
+            return new Limit(unit.toMillis(window), maxRequests);
+        }
+
+        public static Limit perSecond(long maxRequests) {
+            return of(1, TimeUnit.SECONDS, maxRequests);
+        }
+
+        public static Limit perMinute(long maxRequests) {
+            return of(1, TimeUnit.MINUTES, maxRequests);
+        }
+
+        public static Limit perHour(long maxRequests) {
+            return of(1, TimeUnit.HOURS, maxRequests);
+        }
+
+        public static Limit perDay(long maxRequests) {
+            return of(1, TimeUnit.DAYS, maxRequests);
+        }
+    }
+
+    /**
+     * 限流结果
+     */
+    public static class Result {
+
+        /** 是否允许 */
+        private final boolean allowed;
+        /** 各规则中最少的剩余配额 */
+        private final long remaining;
+        /** 被拒绝时, 最早可以获得足够配额的等待毫秒数 */
+        private final long retryAfterMillis;
+
+        Result(boolean allowed, long remaining, long retryAfterMillis) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public long getRemaining() {
+            return remaining;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "[allowed: " + allowed + ", remaining: " + remaining + ", retryAfterMillis: " + retryAfterMillis + "]";
+        }
+    }
+}
@@ -5,6 +5,7 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.exceptions.JedisException;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -25,6 +26,8 @@ public class RedisLock {
     private final long waitIntervalInMilliseconds;
     /** 锁等待超时毫秒数 */
     private final long tryLockTimeoutInMilliseconds;
+    /** 锁竞争统计, 可为空 */
+    private final RedisLockMetrics metrics;
 
     /** 锁过期时间1分钟 */
     private final static int EXPIRE_IN_SECOND = 5 * 60;
@@ -41,10 +44,26 @@ public class RedisLock {
     private static final String SECURITY_DEL_LUA_SCRIPT
             = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
 
+    /** fencing token 计数器键后缀 */
+    private static final String FENCING_COUNTER_SUFFIX = ":fencing";
+    /** 获取锁失败时返回的 fencing token */
+    public static final long NO_FENCING_TOKEN = -1L;
+
+    private static final String LOCK_WITH_FENCING_TOKEN_LUA_SCRIPT
+            = "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return redis.call('incr', KEYS[2]) else return -1 end";
+
     private static final Logger LOGGER = Logger.getLogger(RedisLock.class.getName());
 
     public RedisLock(final JedisPool jedisPool) {
-        this(jedisPool, EXPIRE_IN_SECOND, WAIT_INTERVAL_IN_MILLISECONDS, TRY_LOCK_TIMEOUT_IN_MILLISECONDS);
+        this(jedisPool, EXPIRE_IN_SECOND, WAIT_INTERVAL_IN_MILLISECONDS, TRY_LOCK_TIMEOUT_IN_MILLISECONDS, null);
+    }
+
+    /**
+     * @param jedisPool Jedis 线程池
+     * @param metrics   锁竞争统计
+     */
+    public RedisLock(final JedisPool jedisPool, final RedisLockMetrics metrics) {
+        this(jedisPool, EXPIRE_IN_SECOND, WAIT_INTERVAL_IN_MILLISECONDS, TRY_LOCK_TIMEOUT_IN_MILLISECONDS, metrics);
     }
 
     /**
@@ -52,12 +71,15 @@ public class RedisLock {
      * @param expireInSecond               过期时间
      * @param waitIntervalInMilliseconds   获取锁等待毫秒数
      * @param tryLockTimeoutInMilliseconds 获取锁超时时间
+     * @param metrics                      锁竞争统计
      */
-    private RedisLock(final JedisPool jedisPool, final Integer expireInSecond, final Long waitIntervalInMilliseconds, final Long tryLockTimeoutInMilliseconds) {
+    private RedisLock(final JedisPool jedisPool, final Integer expireInSecond, final Long waitIntervalInMilliseconds,
+                      final Long tryLockTimeoutInMilliseconds, final RedisLockMetrics metrics) {
         this.jedisPool = jedisPool;
         this.expireInSecond = expireInSecond;
         this.waitIntervalInMilliseconds = waitIntervalInMilliseconds;
         this.tryLockTimeoutInMilliseconds = tryLockTimeoutInMilliseconds;
+        this.metrics = metrics;
     }
 
     /**
@@ -78,7 +100,11 @@ public class RedisLock {
         } finally {
             RedisPoolConfig.releaseResource(jedis);
         }
-        return LOCK_SUCCESS.equalsIgnoreCase(result);
+        boolean acquired = LOCK_SUCCESS.equalsIgnoreCase(result);
+        if (metrics != null) {
+            metrics.recordAttempt(lockKey, requestId, acquired, 0);
+        }
+        return acquired;
     }
 
     /**
@@ -100,7 +126,90 @@ public class RedisLock {
         } finally {
             RedisPoolConfig.releaseResource(jedis);
         }
-        return LOCK_SUCCESS.equalsIgnoreCase(result);
+        boolean acquired = LOCK_SUCCESS.equalsIgnoreCase(result);
+        if (metrics != null) {
+            metrics.recordAttempt(lockKey, requestId, acquired, expireTime);
+        }
+        return acquired;
+    }
+
+    /**
+     * 获取分布式锁, 并返回 fencing token
+     * <p>
+     * 加锁与递增 token 计数器({@code lockKey + ":fencing"})在同一个 Lua 脚本中完成,
+     * 同一把锁每次被获取时 token 单调递增. 持有者在锁过期后仍可能继续写入(如长时间 GC 停顿),
+     * 写入时携带该 token, 由存储端拒绝比已接受 token 更小的写入即可避免覆盖新持有者的数据.
+     *
+     * @param lockKey    锁
+     * @param requestId  请求标识
+     * @param expireTime 超期时间
+     * @return fencing token, 获取失败时返回 {@link #NO_FENCING_TOKEN}
+     * @see com.mingrn.common.redis.client.RedisStringApi#setWithFencingToken(String, String, long)
+     * @see com.mingrn.common.redis.client.RedisHashApi#hSetWithFencingToken(String, String, String, long)
+     */
+    public long tryGetDistributedLockWithFencingToken(String lockKey, String requestId, int expireTime) {
+        Object result = null;
+        Jedis jedis = null;
+        try {
+            jedis = jedisPool.getResource();
+            result = jedis.eval(LOCK_WITH_FENCING_TOKEN_LUA_SCRIPT, Arrays.asList(lockKey, lockKey + FENCING_COUNTER_SUFFIX),
+                    Arrays.asList(requestId, String.valueOf(expireTime)));
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Try Distributed Err", e);
+        } finally {
+            RedisPoolConfig.releaseResource(jedis);
+        }
+        long fencingToken = result instanceof Long ? (Long) result : NO_FENCING_TOKEN;
+        if (metrics != null) {
+            metrics.recordAttempt(lockKey, requestId, fencingToken != NO_FENCING_TOKEN, expireTime);
+        }
+        return fencingToken;
+    }
+
+    /**
+     * 获取分布式锁, 锁被占用时按轮询间隔重试, 直到获取成功或超过默认等待时间
+     *
+     * @param lockKey    锁
+     * @param requestId  请求标识
+     * @param expireTime 超期时间
+     * @return 是否获取成功
+     */
+    public boolean getDistributedLock(String lockKey, String requestId, int expireTime) {
+        return getDistributedLock(lockKey, requestId, expireTime, tryLockTimeoutInMilliseconds);
+    }
+
+    /**
+     * 获取分布式锁, 锁被占用时按轮询间隔重试, 直到获取成功或超时
+     *
+     * @param lockKey                      锁
+     * @param requestId                    请求标识
+     * @param expireTime                   超期时间
+     * @param tryLockTimeoutInMilliseconds 获取锁超时时间
+     * @return 是否获取成功
+     */
+    public boolean getDistributedLock(String lockKey, String requestId, int expireTime, long tryLockTimeoutInMilliseconds) {
+        long start = System.nanoTime();
+        boolean acquired = waitDistributedLock(lockKey, requestId, expireTime, tryLockTimeoutInMilliseconds);
+        if (metrics != null) {
+            metrics.recordWait(lockKey, System.nanoTime() - start, acquired);
+        }
+        return acquired;
+    }
+
+    private boolean waitDistributedLock(String lockKey, String requestId, int expireTime, long tryLockTimeoutInMilliseconds) {
+        long deadline = System.currentTimeMillis() + tryLockTimeoutInMilliseconds;
+        do {
+            if (tryGetDistributedLock(lockKey, requestId, expireTime)) {
+                return true;
+            }
+            try {
+                Thread.sleep(waitIntervalInMilliseconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        } while (System.currentTimeMillis() < deadline);
+        return false;
     }
 
     /**
@@ -121,6 +230,10 @@ public class RedisLock {
         } finally {
             RedisPoolConfig.releaseResource(jedis);
         }
-        return RELEASE_SUCCESS.equals(result);
+        boolean released = RELEASE_SUCCESS.equals(result);
+        if (metrics != null) {
+            metrics.recordRelease(lockKey, requestId, released);
+        }
+        return released;
     }
 }
@@ -0,0 +1,262 @@
+package com.mingrn.common.redis.distributed.lock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 锁竞争统计
+ * <p>
+ * 按锁名称统计获取次数、成功次数、等待时间、持有时间以及释放失败次数.
+ * 统计使用 {@link LongAdder} 累加, 高并发下开销很小.
+ * <p>
+ * 注意: 统计按锁名称聚合, 锁名称应为有限集合(如 {@code lock:order}),
+ * 不应包含订单号等无限增长的业务标识, 否则统计项会无限增长.
+ * <p>
+ * 持有开始时间按锁的过期时间淘汰: 锁过期后仍未释放的记录会在下次加锁成功时被清理(至多每秒一次),
+ * 未设置过期时间的锁按 {@link #RedisLockMetrics(long)} 指定的最长持有时间淘汰.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisLockMetrics metrics = new RedisLockMetrics();
+ *   RedisLock lock = new RedisLock(jedisPool, metrics);
+ *   // ...
+ *   RedisLockMetrics.LockStats stats = metrics.getStats("lock:order");
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 20:40
+ * @see RedisLock
+ */
+public class RedisLockMetrics {
+
+    /** 未设置过期时间的锁默认最长持有1小时 */
+    private static final long MAX_HOLD_IN_MILLISECONDS = 60 * 60 * 1000;
+    /** 清理过期持有记录的间隔1秒 */
+    private static final long SWEEP_INTERVAL_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, LockStats> stats = new ConcurrentHashMap<>();
+
+    /** 锁 + 请求标识 -> 持有记录 */
+    private final ConcurrentMap<String, Holder> acquiredAt = new ConcurrentHashMap<>();
+
+    /** 未设置过期时间的锁的最长持有纳秒数, 超过后不再记录持有时间 */
+    private final long maxHoldNanos;
+
+    /** 下次清理过期持有记录的纳秒时间 */
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    public RedisLockMetrics() {
+        this(MAX_HOLD_IN_MILLISECONDS);
+    }
+
+    /**
+     * @param maxHoldInMilliseconds 未设置过期时间的锁的最长持有毫秒数, 超过后视为未释放并淘汰持有记录
+     */
+    public RedisLockMetrics(long maxHoldInMilliseconds) {
+        if (maxHoldInMilliseconds <= 0) {
+            throw new IllegalArgumentException("Max Hold Millis Must Be Positive: " + maxHoldInMilliseconds);
+        }
+        this.maxHoldNanos = TimeUnit.MILLISECONDS.toNanos(maxHoldInMilliseconds);
+    }
+
+    /**
+     * 记录一次加锁尝试
+     *
+     * @param lockKey      锁
+     * @param requestId    请求标识
+     * @param acquired     是否获取成功
+     * @param expireMillis 锁过期毫秒数, 小于等于 0 表示未设置过期时间
+     */
+    void recordAttempt(String lockKey, String requestId, boolean acquired, long expireMillis) {
+        LockStats lockStats = stats(lockKey);
+        lockStats.attempts.increment();
+        if (acquired) {
+            lockStats.successes.increment();
+            long now = System.nanoTime();
+            long ttlNanos = expireMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(expireMillis) : maxHoldNanos;
+            acquiredAt.put(holder(lockKey, requestId), new Holder(now, now + ttlNanos));
+            sweepIfDue(now);
+        }
+    }
+
+    /**
+     * 清理锁已过期但未释放的持有记录, 多个线程同时到期时只有一个线程执行
+     *
+     * @param now 当前纳秒时间
+     */
+    private void sweepIfDue(long now) {
+        long next = nextSweepNanos.get();
+        if (now - next >= 0 && nextSweepNanos.compareAndSet(next, now + SWEEP_INTERVAL_IN_NANOS)) {
+            acquiredAt.values().removeIf(holder -> now - holder.expireAt > 0);
+        }
+    }
+
+    /**
+     * 记录一次轮询等待
+     *
+     * @param lockKey   锁
+     * @param waitNanos 等待纳秒数
+     * @param acquired  等待结束时是否获取成功
+     */
+    void recordWait(String lockKey, long waitNanos, boolean acquired) {
+        LockStats lockStats = stats(lockKey);
+        lockStats.waitNanos.add(waitNanos);
+        lockStats.maxWaitNanos.accumulate(waitNanos);
+        if (!acquired) {
+            lockStats.waitTimeouts.increment();
+        }
+    }
+
+    /**
+     * 记录一次释放
+     *
+     * @param lockKey   锁
+     * @param requestId 请求标识
+     * @param released  是否释放成功
+     */
+    void recordRelease(String lockKey, String requestId, boolean released) {
+        LockStats lockStats = stats(lockKey);
+        Holder holder = acquiredAt.remove(holder(lockKey, requestId));
+        if (!released) {
+            lockStats.failedReleases.increment();
+            return;
+        }
+        lockStats.releases.increment();
+        if (holder != null) {
+            long holdNanos = System.nanoTime() - holder.acquiredAt;
+            lockStats.holdNanos.add(holdNanos);
+            lockStats.maxHoldNanos.accumulate(holdNanos);
+        }
+    }
+
+    /**
+     * 获取指定锁的统计
+     *
+     * @param lockKey 锁
+     * @return 统计, 未使用过的锁返回 null
+     */
+    public LockStats getStats(String lockKey) {
+        return stats.get(lockKey);
+    }
+
+    /**
+     * 获取所有锁的统计
+     *
+     * @return 锁 - 统计
+     */
+    public Map<String, LockStats> getAllStats() {
+        return Collections.unmodifiableMap(new HashMap<>(stats));
+    }
+
+    /** 清空统计 */
+    public void reset() {
+        stats.clear();
+        acquiredAt.clear();
+    }
+
+    private LockStats stats(String lockKey) {
+        return stats.computeIfAbsent(lockKey, k -> new LockStats());
+    }
+
+    private static String holder(String lockKey, String requestId) {
+        return lockKey + '\u0000' + requestId;
+    }
+
+    /**
+     * 持有记录
+     */
+    private static final class Holder {
+
+        /** 获取成功时的纳秒时间 */
+        private final long acquiredAt;
+        /** 锁过期的纳秒时间 */
+        private final long expireAt;
+
+        private Holder(long acquiredAt, long expireAt) {
+            this.acquiredAt = acquiredAt;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 单个锁的统计
+     */
+    public static class LockStats {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder waitTimeouts = new LongAdder();
+        private final LongAdder releases = new LongAdder();
+        private final LongAdder failedReleases = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0);
+
+        /** 加锁尝试次数 */
+        public long getAttempts() {
+            return attempts.sum();
+        }
+
+        /** 加锁成功次数 */
+        public long getSuccesses() {
+            return successes.sum();
+        }
+
+        /** 加锁失败次数 */
+        public long getFailures() {
+            return getAttempts() - getSuccesses();
+        }
+
+        /** 轮询等待超时次数 */
+        public long getWaitTimeouts() {
+            return waitTimeouts.sum();
+        }
+
+        /** 释放成功次数 */
+        public long getReleases() {
+            return releases.sum();
+        }
+
+        /** 释放失败次数, 通常说明锁在释放前已过期或被他人持有 */
+        public long getFailedReleases() {
+            return failedReleases.sum();
+        }
+
+        /** 累计等待毫秒数 */
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+        }
+
+        /** 最大等待毫秒数 */
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+        }
+
+        /** 累计持有毫秒数 */
+        public long getTotalHoldMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(holdNanos.sum());
+        }
+
+        /** 最大持有毫秒数 */
+        public long getMaxHoldMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxHoldNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return "LockStats{attempts=" + getAttempts() + ", successes=" + getSuccesses()
+                    + ", waitTimeouts=" + getWaitTimeouts() + ", releases=" + getReleases()
+                    + ", failedReleases=" + getFailedReleases() + ", totalWaitMillis=" + getTotalWaitMillis()
+                    + ", maxWaitMillis=" + getMaxWaitMillis() + ", totalHoldMillis=" + getTotalHoldMillis()
+                    + ", maxHoldMillis=" + getMaxHoldMillis() + "}";
+        }
+    }
+}
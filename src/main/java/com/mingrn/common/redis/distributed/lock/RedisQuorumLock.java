@@ -0,0 +1,217 @@
+package com.mingrn.common.redis.distributed.lock;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 多数派锁(Redlock)
+ * <p>
+ * {@link RedisLock} 依赖单个 Redis 实例, 主从切换时从节点可能尚未同步锁键,
+ * 导致同一把锁被两个客户端同时持有. 该锁在 N 个相互独立的 Redis 实例上并行加锁,
+ * 在加锁时间预算内超过半数实例加锁成功, 且锁剩余有效时间大于 0 时才认为获取成功;
+ * 否则立即在所有实例上释放.
+ * <p>
+ * 由于是并行加锁, 获取锁的耗时约为一次最慢实例的网络往返.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisQuorumLock lock = new RedisQuorumLock(Arrays.asList(poolConfig1, poolConfig2, poolConfig3));
+ *   if (lock.tryGetDistributedLock("lock:order", requestId, 30000)) {
+ *       try {
+ *           // 业务处理
+ *       } finally {
+ *           lock.releaseDistributedLock("lock:order", requestId);
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 20:05
+ * @see RedisLock
+ */
+public class RedisQuorumLock {
+
+    /** 相互独立的 Redis 实例 */
+    private final List<AbstractPoolConfig> poolConfigs;
+    /** 单次加锁时间预算 */
+    private final long acquireTimeoutInMilliseconds;
+    /** 时钟漂移系数 */
+    private final double clockDriftFactor;
+    /** 并行加锁线程池 */
+    private final ExecutorService executor;
+
+    /** 单次加锁时间预算50毫秒 */
+    private final static long ACQUIRE_TIMEOUT_IN_MILLISECONDS = 50;
+    /** 时钟漂移系数, 锁超期时间的1% */
+    private final static double CLOCK_DRIFT_FACTOR = 0.01;
+
+    private static final Long RELEASE_SUCCESS = 1L;
+    private static final String LOCK_SUCCESS = "OK";
+    private static final String SET_IF_NOT_EXIST = "NX";
+    private static final String SET_WITH_EXPIRE_TIME = "PX";
+
+    private static final String SECURITY_DEL_LUA_SCRIPT
+            = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisQuorumLock.class.getName());
+
+    public RedisQuorumLock(final List<? extends AbstractPoolConfig> poolConfigs) {
+        this(poolConfigs, ACQUIRE_TIMEOUT_IN_MILLISECONDS, CLOCK_DRIFT_FACTOR);
+    }
+
+    /**
+     * @param poolConfigs                  相互独立的 Redis 实例, 建议为奇数个
+     * @param acquireTimeoutInMilliseconds 单次加锁时间预算, 应远小于锁超期时间
+     * @param clockDriftFactor             时钟漂移系数
+     */
+    public RedisQuorumLock(final List<? extends AbstractPoolConfig> poolConfigs, final long acquireTimeoutInMilliseconds, final double clockDriftFactor) {
+        if (poolConfigs == null || poolConfigs.isEmpty()) {
+            throw new IllegalArgumentException("Quorum Lock Requires At Least One Redis Instance");
+        }
+        this.poolConfigs = Collections.unmodifiableList(new ArrayList<>(poolConfigs));
+        this.acquireTimeoutInMilliseconds = acquireTimeoutInMilliseconds;
+        this.clockDriftFactor = clockDriftFactor;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-quorum-lock-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 获取分布式锁
+     *
+     * @param lockKey    锁
+     * @param requestId  请求标识
+     * @param expireTime 超期时间(毫秒)
+     * @return 是否获取成功
+     */
+    public boolean tryGetDistributedLock(String lockKey, String requestId, int expireTime) {
+        return tryGetDistributedLockWithValidity(lockKey, requestId, expireTime) > 0;
+    }
+
+    /**
+     * 获取分布式锁, 并返回锁剩余有效时间. 调用方应在有效时间内完成业务处理
+     *
+     * @param lockKey    锁
+     * @param requestId  请求标识
+     * @param expireTime 超期时间(毫秒)
+     * @return 锁剩余有效毫秒数, 小于等于 0 表示获取失败
+     */
+    public long tryGetDistributedLockWithValidity(String lockKey, String requestId, int expireTime) {
+        long start = System.currentTimeMillis();
+        List<Callable<Boolean>> tasks = new ArrayList<>(poolConfigs.size());
+        for (AbstractPoolConfig poolConfig : poolConfigs) {
+            tasks.add(() -> lockInstance(poolConfig, lockKey, requestId, expireTime));
+        }
+
+        int acquired = 0;
+        try {
+            for (Future<Boolean> future : executor.invokeAll(tasks, acquireTimeoutInMilliseconds, TimeUnit.MILLISECONDS)) {
+                if (isSuccess(future)) {
+                    acquired++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long drift = (long) (expireTime * clockDriftFactor) + 2;
+        long validity = expireTime - (System.currentTimeMillis() - start) - drift;
+        if (acquired >= quorum() && validity > 0) {
+            return validity;
+        }
+        releaseDistributedLock(lockKey, requestId);
+        return 0;
+    }
+
+    /**
+     * 释放分布式锁, 在所有实例上并行释放
+     *
+     * @param lockKey   锁
+     * @param requestId 请求标识
+     * @return 是否在多数实例上释放成功
+     */
+    public boolean releaseDistributedLock(String lockKey, String requestId) {
+        List<Callable<Boolean>> tasks = new ArrayList<>(poolConfigs.size());
+        for (AbstractPoolConfig poolConfig : poolConfigs) {
+            tasks.add(() -> unlockInstance(poolConfig, lockKey, requestId));
+        }
+
+        int released = 0;
+        try {
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                if (isSuccess(future)) {
+                    released++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return released >= quorum();
+    }
+
+    /** 关闭并行加锁线程池 */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** 多数派个数 */
+    private int quorum() {
+        return poolConfigs.size() / 2 + 1;
+    }
+
+    private static boolean isSuccess(Future<Boolean> future) {
+        try {
+            return Boolean.TRUE.equals(future.get());
+        } catch (CancellationException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean lockInstance(AbstractPoolConfig poolConfig, String lockKey, String requestId, int expireTime) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return LOCK_SUCCESS.equalsIgnoreCase(jedis.set(lockKey, requestId, SET_IF_NOT_EXIST, SET_WITH_EXPIRE_TIME, expireTime));
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Try Quorum Distributed Err", e);
+            return false;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    private static boolean unlockInstance(AbstractPoolConfig poolConfig, String lockKey, String requestId) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return RELEASE_SUCCESS.equals(jedis.eval(SECURITY_DEL_LUA_SCRIPT, Collections.singletonList(lockKey), Collections.singletonList(requestId)));
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Release Quorum Distributed Err", e);
+            return false;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.mingrn.common.redis.distributed.lock;
+
+import com.mingrn.common.redis.config.RedisPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 分布式信号量
+ * <p>
+ * 基于有序集合实现, 成员为许可持有者(holder), 分数为该许可的租约到期时间(毫秒时间戳).
+ * 每次获取许可时, 在同一个 Lua 脚本中先清理已过期的租约, 再判断剩余许可是否足够,
+ * 因此持有者宕机后其许可会在租约到期后自动归还.
+ * <p>
+ * 一次请求多个许可时, 持有者为 {@code requestId#0}, {@code requestId#1} ...,
+ * 要么全部获取成功, 要么一个也不获取.
+ * <p>
+ * 注意: 租约到期时间使用客户端时钟计算, 各节点之间的时钟偏差应远小于租约时长.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisSemaphore semaphore = new RedisSemaphore(jedisPool, 20);
+ *   if (semaphore.tryAcquire("sem:downstream", requestId)) {
+ *       try {
+ *           // 调用下游服务
+ *       } finally {
+ *           semaphore.release("sem:downstream", requestId);
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 19:30
+ * @see RedisLock
+ */
+public class RedisSemaphore {
+
+    /** 连接池 */
+    private final JedisPool jedisPool;
+    /** 许可总数 */
+    private final int permits;
+    /** 许可租约毫秒数 */
+    private final long leaseInMilliseconds;
+    /** 许可轮询毫秒数 */
+    private final long waitIntervalInMilliseconds;
+    /** 许可等待超时毫秒数 */
+    private final long tryAcquireTimeoutInMilliseconds;
+
+    /** 许可租约时间1分钟 */
+    private final static long LEASE_IN_MILLISECONDS = 60 * 1000;
+    /** 获取许可轮询间隔10毫秒 */
+    private final static long WAIT_INTERVAL_IN_MILLISECONDS = 10;
+    /** 许可等待时间5分钟 */
+    private final static long TRY_ACQUIRE_TIMEOUT_IN_MILLISECONDS = 5 * 60 * 1000;
+
+    private static final Long ACQUIRE_SUCCESS = 1L;
+
+    /**
+     * KEYS[1]: 信号量键
+     * ARGV[1]: 许可总数, ARGV[2]: 当前毫秒时间戳, ARGV[3]: 租约毫秒数, ARGV[4...]: 持有者
+     */
+    private static final String ACQUIRE_LUA_SCRIPT
+            = "redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[2]) "
+            + "local need = #ARGV - 3 "
+            + "if redis.call('zcard', KEYS[1]) + need > tonumber(ARGV[1]) then return 0 end "
+            + "local expireAt = tonumber(ARGV[2]) + tonumber(ARGV[3]) "
+            + "for i = 4, #ARGV do redis.call('zadd', KEYS[1], expireAt, ARGV[i]) end "
+            + "redis.call('pexpire', KEYS[1], ARGV[3]) "
+            + "return 1";
+
+    /**
+     * KEYS[1]: 信号量键
+     * ARGV[1]: 当前毫秒时间戳, ARGV[2]: 租约毫秒数, ARGV[3...]: 持有者
+     */
+    private static final String RENEW_LUA_SCRIPT
+            = "local expireAt = tonumber(ARGV[1]) + tonumber(ARGV[2]) "
+            + "local renewed = 0 "
+            + "for i = 3, #ARGV do "
+            + "  local score = redis.call('zscore', KEYS[1], ARGV[i]) "
+            + "  if score and tonumber(score) > tonumber(ARGV[1]) then "
+            + "    redis.call('zadd', KEYS[1], expireAt, ARGV[i]) renewed = renewed + 1 "
+            + "  end "
+            + "end "
+            + "if renewed > 0 then redis.call('pexpire', KEYS[1], ARGV[2]) end "
+            + "return renewed";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisSemaphore.class.getName());
+
+    public RedisSemaphore(final JedisPool jedisPool, final int permits) {
+        this(jedisPool, permits, LEASE_IN_MILLISECONDS, WAIT_INTERVAL_IN_MILLISECONDS, TRY_ACQUIRE_TIMEOUT_IN_MILLISECONDS);
+    }
+
+    public RedisSemaphore(final JedisPool jedisPool, final int permits, final long leaseInMilliseconds) {
+        this(jedisPool, permits, leaseInMilliseconds, WAIT_INTERVAL_IN_MILLISECONDS, TRY_ACQUIRE_TIMEOUT_IN_MILLISECONDS);
+    }
+
+    /**
+     * @param jedisPool                       Jedis 线程池
+     * @param permits                         许可总数
+     * @param leaseInMilliseconds             许可租约毫秒数, 超过该时间未续约或释放的许可将被自动回收
+     * @param waitIntervalInMilliseconds      获取许可轮询毫秒数
+     * @param tryAcquireTimeoutInMilliseconds 获取许可超时时间
+     */
+    public RedisSemaphore(final JedisPool jedisPool, final int permits, final long leaseInMilliseconds,
+                          final long waitIntervalInMilliseconds, final long tryAcquireTimeoutInMilliseconds) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Semaphore Permits Must Be Positive: " + permits);
+        }
+        if (leaseInMilliseconds <= 0) {
+            throw new IllegalArgumentException("Semaphore Lease Must Be Positive: " + leaseInMilliseconds);
+        }
+        this.jedisPool = jedisPool;
+        this.permits = permits;
+        this.leaseInMilliseconds = leaseInMilliseconds;
+        this.waitIntervalInMilliseconds = waitIntervalInMilliseconds;
+        this.tryAcquireTimeoutInMilliseconds = tryAcquireTimeoutInMilliseconds;
+    }
+
+    /**
+     * 尝试获取一个许可, 不等待
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(String semaphoreKey, String requestId) {
+        return tryAcquire(semaphoreKey, requestId, 1);
+    }
+
+    /**
+     * 尝试一次获取多个许可, 不等待. 要么全部获取成功, 要么一个也不获取
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @param count        许可个数
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(String semaphoreKey, String requestId, int count) {
+        if (count <= 0 || count > permits) {
+            throw new IllegalArgumentException("Acquire Count Must Between 1 And " + permits + ": " + count);
+        }
+        List<String> args = new ArrayList<>(count + 3);
+        args.add(String.valueOf(permits));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(leaseInMilliseconds));
+        args.addAll(holders(requestId, count));
+
+        Object result = null;
+        Jedis jedis = null;
+        try {
+            jedis = jedisPool.getResource();
+            result = jedis.eval(ACQUIRE_LUA_SCRIPT, Collections.singletonList(semaphoreKey), args);
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Try Acquire Semaphore Err", e);
+        } finally {
+            RedisPoolConfig.releaseResource(jedis);
+        }
+        return ACQUIRE_SUCCESS.equals(result);
+    }
+
+    /**
+     * 获取多个许可, 许可不足时按轮询间隔重试, 直到获取成功或超时
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @param count        许可个数
+     * @return 是否获取成功
+     */
+    public boolean acquire(String semaphoreKey, String requestId, int count) {
+        long deadline = System.currentTimeMillis() + tryAcquireTimeoutInMilliseconds;
+        do {
+            if (tryAcquire(semaphoreKey, requestId, count)) {
+                return true;
+            }
+            try {
+                Thread.sleep(waitIntervalInMilliseconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        } while (System.currentTimeMillis() < deadline);
+        return false;
+    }
+
+    /**
+     * 续约已持有的许可, 已过期的许可不会被续约
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @param count        获取时的许可个数
+     * @return 续约成功的许可个数
+     */
+    public long renew(String semaphoreKey, String requestId, int count) {
+        List<String> args = new ArrayList<>(count + 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(leaseInMilliseconds));
+        args.addAll(holders(requestId, count));
+
+        Object result = null;
+        Jedis jedis = null;
+        try {
+            jedis = jedisPool.getResource();
+            result = jedis.eval(RENEW_LUA_SCRIPT, Collections.singletonList(semaphoreKey), args);
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Renew Semaphore Err", e);
+        } finally {
+            RedisPoolConfig.releaseResource(jedis);
+        }
+        return result instanceof Long ? (Long) result : 0L;
+    }
+
+    /**
+     * 释放一个许可
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @return 是否释放成功
+     */
+    public boolean release(String semaphoreKey, String requestId) {
+        return release(semaphoreKey, requestId, 1) > 0;
+    }
+
+    /**
+     * 释放多个许可
+     *
+     * @param semaphoreKey 信号量
+     * @param requestId    请求标识
+     * @param count        获取时的许可个数
+     * @return 释放成功的许可个数
+     */
+    public long release(String semaphoreKey, String requestId, int count) {
+        Long result = null;
+        Jedis jedis = null;
+        try {
+            jedis = jedisPool.getResource();
+            List<String> holders = holders(requestId, count);
+            result = jedis.zrem(semaphoreKey, holders.toArray(new String[0]));
+        } catch (JedisException e) {
+            LOGGER.log(Level.WARNING, "Jedis Release Semaphore Err", e);
+        } finally {
+            RedisPoolConfig.releaseResource(jedis);
+        }
+        return result == null ? 0L : result;
+    }
+
+    /**
+     * 查看当前可用许可数
+     *
+     * @param semaphoreKey 信号量
+     * @return 可用许可数
+     */
+    public long availablePermits(String semaphoreKey) {
+        Jedis jedis = null;
+        try {
+            jedis = jedisPool.getResource();
+            Long used = jedis.zcount(semaphoreKey, "(" + System.currentTimeMillis(), "+inf");
+            return Math.max(0, permits - used);
+        } finally {
+            RedisPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 许可持有者, 单个许可时直接使用请求标识
+     *
+     * @param requestId 请求标识
+     * @param count     许可个数
+     */
+    private static List<String> holders(String requestId, int count) {
+        if (count == 1) {
+            return Collections.singletonList(requestId);
+        }
+        List<String> holders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            holders.add(requestId + "#" + i);
+        }
+        return holders;
+    }
+}
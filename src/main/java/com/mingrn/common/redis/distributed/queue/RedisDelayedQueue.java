@@ -0,0 +1,316 @@
+package com.mingrn.common.redis.distributed.queue;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 延迟队列
+ * <p>
+ * 基于有序集合实现, 成员为任务, 分数为任务执行时间(毫秒时间戳).
+ * {@link #claim(int)} 在一个 Lua 脚本中取出最多 N 个到期任务并从集合中删除,
+ * 多个消费者并发领取也不会重复, 且只需一次网络往返.
+ * <p>
+ * {@link #start(int, int, Consumer)} 启动的工作线程在没有到期任务时, 会根据最近一个任务的执行时间休眠,
+ * 而不是按固定间隔轮询; 本地调度了更早的任务时会被立即唤醒. 为感知其他节点调度的任务,
+ * 单次休眠不超过 {@code maxIdleInMilliseconds}.
+ * <p>
+ * 注意: 相同内容的任务在集合中只保留一个; 任务领取后即从 Redis 删除, 处理失败需要业务自行重新调度.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisDelayedQueue queue = new RedisDelayedQueue(poolConfig, "delay:retry");
+ *   queue.schedule("order:1001", System.currentTimeMillis() + 30000);
+ *   queue.start(2, 100, job -> retry(job));
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 21:50
+ */
+public class RedisDelayedQueue {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 队列键 */
+    private final String queueKey;
+    /** 工作线程最长休眠毫秒数 */
+    private final long maxIdleInMilliseconds;
+
+    /** 工作线程休眠锁 */
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition wakeUp = idleLock.newCondition();
+    /** 工作线程最早的唤醒时间 */
+    private long nextWakeUpAt = Long.MAX_VALUE;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    /** 工作线程最长休眠1秒 */
+    private final static long MAX_IDLE_IN_MILLISECONDS = 1000;
+    /** 工作线程停止等待时间30秒 */
+    private final static long SHUTDOWN_TIMEOUT_IN_MILLISECONDS = 30 * 1000;
+
+    /**
+     * 领取到期任务, 返回 {到期任务, 最近一个未到期任务的执行时间}
+     * <p>
+     * KEYS[1]: 队列键
+     * ARGV[1]: 当前毫秒时间戳, ARGV[2]: 最多领取个数
+     * <p>
+     * 从 -inf 开始按分数领取的任务正好是排名最前的 #jobs 个成员, 按排名删除, 避免 unpack 大量成员超过 Lua 栈上限.
+     */
+    private static final String CLAIM_LUA_SCRIPT
+            = "local jobs = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) "
+            + "if #jobs > 0 then redis.call('zremrangebyrank', KEYS[1], 0, #jobs - 1) end "
+            + "local next = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES') "
+            + "return {jobs, next[2] or ''}";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisDelayedQueue.class.getName());
+
+    public RedisDelayedQueue(final AbstractPoolConfig poolConfig, final String queueKey) {
+        this(poolConfig, queueKey, MAX_IDLE_IN_MILLISECONDS);
+    }
+
+    /**
+     * @param poolConfig            连接池
+     * @param queueKey              队列键
+     * @param maxIdleInMilliseconds 工作线程最长休眠毫秒数, 决定感知其他节点新调度任务的最大延迟
+     */
+    public RedisDelayedQueue(final AbstractPoolConfig poolConfig, final String queueKey, final long maxIdleInMilliseconds) {
+        this.poolConfig = poolConfig;
+        this.queueKey = queueKey;
+        this.maxIdleInMilliseconds = maxIdleInMilliseconds;
+    }
+
+    /**
+     * 调度任务
+     *
+     * @param job   任务
+     * @param runAt 执行时间(毫秒时间戳)
+     * @return 1: 新增任务, 0: 任务已存在, 仅更新执行时间
+     */
+    public Long schedule(String job, long runAt) {
+        return schedule(Collections.singletonMap(job, runAt));
+    }
+
+    /**
+     * 批量调度任务, 一次网络往返
+     *
+     * @param jobs 任务 - 执行时间(毫秒时间戳)
+     * @return 新增任务个数
+     */
+    public Long schedule(Map<String, Long> jobs) {
+        Map<String, Double> scoreMembers = new HashMap<>(jobs.size() * 4 / 3 + 1);
+        long earliest = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> job : jobs.entrySet()) {
+            scoreMembers.put(job.getKey(), job.getValue().doubleValue());
+            earliest = Math.min(earliest, job.getValue());
+        }
+
+        Long added;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            added = jedis.zadd(queueKey, scoreMembers);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        wakeUpIfEarlier(earliest);
+        return added;
+    }
+
+    /**
+     * 取消任务
+     *
+     * @param jobs 任务
+     * @return 取消成功个数
+     */
+    public Long cancel(String... jobs) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.zrem(queueKey, jobs);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 领取最多 max 个到期任务, 领取的任务从队列中删除
+     *
+     * @param max 最多领取个数
+     * @return 到期任务, 按执行时间先后排序
+     */
+    public List<String> claim(int max) {
+        return claimWithNextDue(max).jobs;
+    }
+
+    /**
+     * 启动工作线程
+     *
+     * @param workerCount 工作线程数
+     * @param batchSize   每次领取的任务个数
+     * @param handler     任务处理器
+     */
+    public synchronized void start(int workerCount, int batchSize, Consumer<String> handler) {
+        if (running) {
+            throw new IllegalStateException("Redis Delayed Queue [" + queueKey + "] Has Already Been Started");
+        }
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "redis-delayed-queue-" + queueKey + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(() -> work(batchSize, handler));
+        }
+    }
+
+    /** 停止工作线程, 等待正在处理的任务完成 */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        idleLock.lock();
+        try {
+            wakeUp.signalAll();
+        } finally {
+            idleLock.unlock();
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_IN_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void work(int batchSize, Consumer<String> handler) {
+        while (running) {
+            long sleep;
+            try {
+                Claim claim = claimWithNextDue(batchSize);
+                for (String job : claim.jobs) {
+                    try {
+                        handler.accept(job);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Redis Delayed Queue [" + queueKey + "] Handle Job Err: " + job, e);
+                    }
+                }
+                if (claim.jobs.size() >= batchSize) {
+                    continue;
+                }
+                sleep = claim.nextDueAt < 0 ? maxIdleInMilliseconds
+                        : Math.min(claim.nextDueAt - System.currentTimeMillis(), maxIdleInMilliseconds);
+            } catch (JedisException e) {
+                LOGGER.log(Level.WARNING, "Jedis Claim Delayed Jobs Err", e);
+                sleep = maxIdleInMilliseconds;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Redis Delayed Queue [" + queueKey + "] Claim Delayed Jobs Err", e);
+                sleep = maxIdleInMilliseconds;
+            }
+            if (sleep > 0 && !idle(sleep)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 休眠直到超时或被更早的任务唤醒
+     *
+     * @param sleep 休眠毫秒数
+     * @return false: 线程被中断
+     */
+    private boolean idle(long sleep) {
+        idleLock.lock();
+        try {
+            long deadline = System.currentTimeMillis() + sleep;
+            nextWakeUpAt = Math.min(nextWakeUpAt, deadline);
+            long wakeUpAt;
+            while (running && (wakeUpAt = Math.min(deadline, nextWakeUpAt)) > System.currentTimeMillis()) {
+                wakeUp.await(wakeUpAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (nextWakeUpAt <= System.currentTimeMillis()) {
+                nextWakeUpAt = Long.MAX_VALUE;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * 本地调度了比工作线程唤醒时间更早的任务时, 唤醒工作线程
+     *
+     * @param runAt 执行时间
+     */
+    private void wakeUpIfEarlier(long runAt) {
+        if (!running) {
+            return;
+        }
+        idleLock.lock();
+        try {
+            if (runAt < nextWakeUpAt) {
+                nextWakeUpAt = runAt;
+                wakeUp.signalAll();
+            }
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Claim claimWithNextDue(int max) {
+        Object result;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            result = jedis.eval(CLAIM_LUA_SCRIPT, Collections.singletonList(queueKey),
+                    Arrays.asList(String.valueOf(System.currentTimeMillis()), String.valueOf(max)));
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        List<Object> reply = (List<Object>) result;
+        String nextDue = (String) reply.get(1);
+        return new Claim((List<String>) reply.get(0), nextDue.isEmpty() ? -1 : (long) Double.parseDouble(nextDue));
+    }
+
+    /**
+     * 领取结果
+     */
+    private static class Claim {
+
+        /** 到期任务 */
+        private final List<String> jobs;
+        /** 最近一个未到期任务的执行时间, -1 表示队列为空 */
+        private final long nextDueAt;
+
+        Claim(List<String> jobs, long nextDueAt) {
+            this.jobs = jobs;
+            this.nextDueAt = nextDueAt;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.mingrn.common.redis.distributed.queue;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisShardInfo;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 列表队列消费容器
+ * <p>
+ * 启动 N 个消费线程循环执行 BRPOP(BLPOP), 每个消费线程在整个生命周期内独占一个连接,
+ * 弹出的元素交给处理线程池执行. 阻塞弹出会长时间占用连接, 推荐使用 {@link JedisShardInfo} 构造,
+ * 由容器自行创建 N 个不属于任何连接池的专用连接, 阻塞弹出永远不会耗尽业务连接池.
+ * <p>
+ * 使用连接池构造时, 连接池应专门用于消费, 不要与业务请求共用. 构造时校验连接池最大连接数不小于消费线程数,
+ * 最大连接数大于消费线程数时连接池可能与业务共用, 会记录警告.
+ * <p>
+ * 处理中(已弹出但未处理完成)的元素个数不超过 {@code maxInFlight}, 达到上限时消费线程暂停弹出, 形成背压.
+ * {@link #shutdown()} 先停止弹出, 再等待已弹出的元素处理完成.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisListConsumerContainer container = new RedisListConsumerContainer(new JedisShardInfo(host, port),
+ *           Collections.singletonList("queue:order"), item -> handle(item), 4, 64, 16);
+ *   container.start();
+ *   // ...
+ *   container.shutdown();
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 22:10
+ */
+public class RedisListConsumerContainer {
+
+    /** 消费连接工厂, 每个消费线程获取一次 */
+    private final Supplier<Jedis> connectionFactory;
+    /** 队列键 */
+    private final String[] queueKeys;
+    /** 元素处理器 */
+    private final Consumer<String> handler;
+    /** 消费线程数 */
+    private final int consumerCount;
+    /** 处理中元素上限 */
+    private final Semaphore inFlight;
+    /** 处理线程池 */
+    private final ExecutorService handlerExecutor;
+    /** true: 从列表右边弹出, false: 从列表左边弹出 */
+    private final boolean fromRight;
+    /** 阻塞弹出超时秒数, 决定停止时的最大等待时间 */
+    private final int popTimeoutInSeconds;
+
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    /** 阻塞弹出超时1秒 */
+    private final static int POP_TIMEOUT_IN_SECONDS = 1;
+    /** 连接异常重试间隔1秒 */
+    private final static long RETRY_INTERVAL_IN_MILLISECONDS = 1000;
+    /** 停止等待时间30秒 */
+    private final static long SHUTDOWN_TIMEOUT_IN_MILLISECONDS = 30 * 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(RedisListConsumerContainer.class.getName());
+
+    /**
+     * 使用专用连接消费, 容器为每个消费线程创建一个不属于任何连接池的连接
+     *
+     * @param shardInfo      连接信息
+     * @param queueKeys      队列键
+     * @param handler        元素处理器
+     * @param consumerCount  消费线程数
+     * @param maxInFlight    处理中元素上限
+     * @param handlerThreads 处理线程数
+     */
+    public RedisListConsumerContainer(final JedisShardInfo shardInfo, final List<String> queueKeys, final Consumer<String> handler,
+                                      final int consumerCount, final int maxInFlight, final int handlerThreads) {
+        this(shardInfo, queueKeys, handler, consumerCount, maxInFlight, newHandlerExecutor(handlerThreads), true, POP_TIMEOUT_IN_SECONDS);
+    }
+
+    /**
+     * 使用专用连接消费, 容器为每个消费线程创建一个不属于任何连接池的连接
+     *
+     * @param shardInfo           连接信息
+     * @param queueKeys           队列键
+     * @param handler             元素处理器
+     * @param consumerCount       消费线程数
+     * @param maxInFlight         处理中元素上限
+     * @param handlerExecutor     处理线程池, 停止容器时会一并关闭
+     * @param fromRight           true: 从列表右边弹出, false: 从列表左边弹出
+     * @param popTimeoutInSeconds 阻塞弹出超时秒数
+     */
+    public RedisListConsumerContainer(final JedisShardInfo shardInfo, final List<String> queueKeys, final Consumer<String> handler,
+                                      final int consumerCount, final int maxInFlight, final ExecutorService handlerExecutor,
+                                      final boolean fromRight, final int popTimeoutInSeconds) {
+        this(() -> new Jedis(shardInfo), queueKeys, handler, consumerCount, maxInFlight, handlerExecutor, fromRight, popTimeoutInSeconds);
+    }
+
+    /**
+     * @param poolConfig     消费专用连接池, 最大连接数不小于消费线程数
+     * @param queueKeys      队列键
+     * @param handler        元素处理器
+     * @param consumerCount  消费线程数
+     * @param maxInFlight    处理中元素上限
+     * @param handlerThreads 处理线程数
+     */
+    public RedisListConsumerContainer(final AbstractPoolConfig poolConfig, final List<String> queueKeys, final Consumer<String> handler,
+                                      final int consumerCount, final int maxInFlight, final int handlerThreads) {
+        this(poolConfig, queueKeys, handler, consumerCount, maxInFlight, newHandlerExecutor(handlerThreads), true, POP_TIMEOUT_IN_SECONDS);
+    }
+
+    /**
+     * @param poolConfig          消费专用连接池, 最大连接数不小于消费线程数
+     * @param queueKeys           队列键
+     * @param handler             元素处理器
+     * @param consumerCount       消费线程数
+     * @param maxInFlight         处理中元素上限
+     * @param handlerExecutor     处理线程池, 停止容器时会一并关闭
+     * @param fromRight           true: 从列表右边弹出, false: 从列表左边弹出
+     * @param popTimeoutInSeconds 阻塞弹出超时秒数
+     */
+    public RedisListConsumerContainer(final AbstractPoolConfig poolConfig, final List<String> queueKeys, final Consumer<String> handler,
+                                      final int consumerCount, final int maxInFlight, final ExecutorService handlerExecutor,
+                                      final boolean fromRight, final int popTimeoutInSeconds) {
+        this(pooledConnections(poolConfig, queueKeys, consumerCount), queueKeys, handler, consumerCount, maxInFlight,
+                handlerExecutor, fromRight, popTimeoutInSeconds);
+    }
+
+    private RedisListConsumerContainer(final Supplier<Jedis> connectionFactory, final List<String> queueKeys, final Consumer<String> handler,
+                                       final int consumerCount, final int maxInFlight, final ExecutorService handlerExecutor,
+                                       final boolean fromRight, final int popTimeoutInSeconds) {
+        if (consumerCount <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Consumer Count And Max In Flight Must Be Positive");
+        }
+        if (popTimeoutInSeconds <= 0) {
+            throw new IllegalArgumentException("Pop Timeout Must Be Positive: " + popTimeoutInSeconds);
+        }
+        this.connectionFactory = connectionFactory;
+        this.queueKeys = queueKeys.toArray(new String[0]);
+        this.handler = handler;
+        this.consumerCount = consumerCount;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.handlerExecutor = handlerExecutor;
+        this.fromRight = fromRight;
+        this.popTimeoutInSeconds = popTimeoutInSeconds;
+    }
+
+    /** 启动消费线程 */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < consumerCount; i++) {
+            Thread consumer = new Thread(this::consume, "redis-list-consumer-" + String.join(",", queueKeys) + "-" + (i + 1));
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+            consumer.start();
+        }
+    }
+
+    /** 停止消费, 等待已弹出的元素处理完成 */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_IN_MILLISECONDS;
+        try {
+            for (Thread consumer : consumers) {
+                consumer.join(Math.max(1, deadline - System.currentTimeMillis()));
+            }
+            handlerExecutor.shutdown();
+            if (!handlerExecutor.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                LOGGER.warning("Redis List Consumer [" + String.join(",", queueKeys) + "] Shutdown Timeout, Interrupt Handlers");
+                handlerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            handlerExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        consumers.clear();
+    }
+
+    /** 当前处理中元素个数的剩余额度 */
+    public int availableInFlight() {
+        return inFlight.availablePermits();
+    }
+
+    private void consume() {
+        Jedis jedis = null;
+        try {
+            while (running) {
+                if (!inFlight.tryAcquire(popTimeoutInSeconds, TimeUnit.SECONDS)) {
+                    continue;
+                }
+                boolean dispatched = false;
+                try {
+                    if (jedis == null) {
+                        jedis = connectionFactory.get();
+                    }
+                    List<String> popped = fromRight ? jedis.brpop(popTimeoutInSeconds, queueKeys) : jedis.blpop(popTimeoutInSeconds, queueKeys);
+                    if (popped != null && popped.size() == 2) {
+                        dispatched = dispatch(jedis, popped.get(0), popped.get(1));
+                    }
+                } catch (JedisConnectionException e) {
+                    LOGGER.log(Level.WARNING, "Jedis Consumer Connection Err, Retry Later", e);
+                    AbstractPoolConfig.releaseResource(jedis);
+                    jedis = null;
+                    Thread.sleep(RETRY_INTERVAL_IN_MILLISECONDS);
+                } catch (JedisException e) {
+                    LOGGER.log(Level.WARNING, "Jedis Consumer Err", e);
+                } finally {
+                    if (!dispatched) {
+                        inFlight.release();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 提交处理线程池, 线程池拒绝时将元素放回队列
+     *
+     * @param jedis 消费连接
+     * @param key   队列键
+     * @param item  元素
+     * @return 是否提交成功
+     */
+    private boolean dispatch(Jedis jedis, String key, String item) {
+        try {
+            handlerExecutor.execute(() -> {
+                try {
+                    handler.accept(item);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Redis List Consumer [" + key + "] Handle Item Err: " + item, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (fromRight) {
+                jedis.rpush(key, item);
+            } else {
+                jedis.lpush(key, item);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 校验连接池最大连接数不小于消费线程数, 返回从连接池获取连接的工厂
+     *
+     * @param poolConfig    消费专用连接池
+     * @param queueKeys     队列键
+     * @param consumerCount 消费线程数
+     * @return 连接工厂
+     */
+    private static Supplier<Jedis> pooledConnections(AbstractPoolConfig poolConfig, List<String> queueKeys, int consumerCount) {
+        int maxTotal = poolConfig.getMaxTotal();
+        if (maxTotal >= 0 && maxTotal < consumerCount) {
+            throw new IllegalArgumentException("Pool Max Total " + maxTotal + " Must Not Be Less Than Consumer Count " + consumerCount);
+        }
+        if (maxTotal < 0 || maxTotal > consumerCount) {
+            LOGGER.warning("Redis List Consumer [" + String.join(",", queueKeys) + "] Pool Max Total " + maxTotal + " Exceeds Consumer Count "
+                    + consumerCount + ", Blocking Pops Will Hold " + consumerCount + " Connections If The Pool Is Shared");
+        }
+        return poolConfig::acquireResource;
+    }
+
+    private static ExecutorService newHandlerExecutor(int handlerThreads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(handlerThreads, r -> {
+            Thread thread = new Thread(r, "redis-list-handler-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
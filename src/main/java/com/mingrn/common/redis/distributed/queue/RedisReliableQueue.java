@@ -0,0 +1,390 @@
+package com.mingrn.common.redis.distributed.queue;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 可靠队列(至少一次投递)
+ * <p>
+ * {@link com.mingrn.common.redis.client.RedisListApi#listPop(String, boolean)} 弹出元素后即从 Redis 删除,
+ * 消费者宕机会丢失消息. 该队列使用 BRPOPLPUSH 将元素原子地转移到消费者自己的处理中列表
+ * ({@code queueKey + ":processing:" + consumerId}), 处理成功后 {@link #ack} 删除, 处理失败 {@link #nack} 放回队列.
+ * <p>
+ * 消费者心跳记录在有序集合 {@code queueKey + ":consumers"} 中, 心跳超过可见性超时的消费者被视为已宕机,
+ * 由 {@link #requeueStale()} (或 {@link #startReaper(long)} 启动的后台任务) 将其处理中元素放回队列.
+ * 心跳在 {@link #take}、{@link #ack} 时顺带完成. {@link #take} 按不超过可见性超时 1/3 的时长分段阻塞,
+ * 每段前按需上报心跳, 弹出元素后立即上报心跳再返回, 因此长时间阻塞的消费者不会被视为宕机.
+ * 消费者正常退出时应调用 {@link #unregister(String)} 注销.
+ * <p>
+ * 注意: 单条消息处理时间超过可见性超时, 可能被重新投递, 业务处理应保证幂等.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisReliableQueue queue = new RedisReliableQueue(poolConfig, "queue:order");
+ *   queue.startReaper(30000);
+ *   String item = queue.take("consumer-1", 5);
+ *   if (item != null) {
+ *       try {
+ *           // 业务处理
+ *           queue.ack("consumer-1", item);
+ *       } catch (Exception e) {
+ *           queue.nack("consumer-1", item);
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 21:00
+ */
+public class RedisReliableQueue {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 队列键 */
+    private final String queueKey;
+    /** 消费者心跳键 */
+    private final String consumersKey;
+    /** 可见性超时毫秒数, 消费者心跳超过该时间视为宕机 */
+    private final long visibilityTimeoutInMilliseconds;
+    /** 单次回收的元素个数上限 */
+    private final int requeueBatchSize;
+
+    /** 消费者 -> 最近一次心跳时间, 用于减少心跳次数 */
+    private final ConcurrentMap<String, Long> lastHeartbeats = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService reaper;
+
+    /** 可见性超时5分钟 */
+    private final static long VISIBILITY_TIMEOUT_IN_MILLISECONDS = 5 * 60 * 1000;
+    /** 单次回收1000个元素 */
+    private final static int REQUEUE_BATCH_SIZE = 1000;
+
+    private static final String PROCESSING_SUFFIX = ":processing:";
+    private static final String CONSUMERS_SUFFIX = ":consumers";
+
+    /**
+     * KEYS[1]: 处理中列表, KEYS[2]: 队列
+     * ARGV[1]: 元素
+     */
+    private static final String NACK_LUA_SCRIPT
+            = "if redis.call('lrem', KEYS[1], -1, ARGV[1]) > 0 then redis.call('rpush', KEYS[2], ARGV[1]) return 1 end "
+            + "return 0";
+
+    /**
+     * 将心跳超时消费者的处理中元素放回队列消费端, 并保持原有顺序.
+     * 执行时重新检查心跳, 消费者已恢复心跳(如阻塞弹出后刚上报心跳)时跳过, 避免回收正在处理的元素.
+     * 处理中列表回收完毕后删除该消费者, 避免已崩溃的消费者无限累积; 消费者恢复后会在下次心跳时重新登记.
+     * <p>
+     * KEYS[1]: 处理中列表, KEYS[2]: 队列, KEYS[3]: 消费者心跳
+     * ARGV[1]: 单次回收个数上限, ARGV[2]: 消费者, ARGV[3]: 心跳截止时间
+     */
+    private static final String REQUEUE_LUA_SCRIPT
+            = "local beat = redis.call('zscore', KEYS[3], ARGV[2]) "
+            + "if not beat or tonumber(beat) > tonumber(ARGV[3]) then return 0 end "
+            + "local moved = 0 "
+            + "while moved < tonumber(ARGV[1]) do "
+            + "  local item = redis.call('lpop', KEYS[1]) "
+            + "  if not item then break end "
+            + "  redis.call('rpush', KEYS[2], item) "
+            + "  moved = moved + 1 "
+            + "end "
+            + "if redis.call('llen', KEYS[1]) == 0 then redis.call('zrem', KEYS[3], ARGV[2]) end "
+            + "return moved";
+
+    /**
+     * 处理中列表为空时注销消费者
+     * <p>
+     * KEYS[1]: 处理中列表, KEYS[2]: 消费者心跳
+     * ARGV[1]: 消费者
+     */
+    private static final String UNREGISTER_LUA_SCRIPT
+            = "if redis.call('llen', KEYS[1]) > 0 then return 0 end "
+            + "redis.call('zrem', KEYS[2], ARGV[1]) "
+            + "return 1";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisReliableQueue.class.getName());
+
+    public RedisReliableQueue(final AbstractPoolConfig poolConfig, final String queueKey) {
+        this(poolConfig, queueKey, VISIBILITY_TIMEOUT_IN_MILLISECONDS, REQUEUE_BATCH_SIZE);
+    }
+
+    /**
+     * @param poolConfig                      连接池
+     * @param queueKey                        队列键
+     * @param visibilityTimeoutInMilliseconds 可见性超时毫秒数, 应大于单条消息的最大处理时间
+     * @param requeueBatchSize                单次回收的元素个数上限, 避免回收大列表时长时间阻塞 Redis
+     */
+    public RedisReliableQueue(final AbstractPoolConfig poolConfig, final String queueKey,
+                              final long visibilityTimeoutInMilliseconds, final int requeueBatchSize) {
+        this.poolConfig = poolConfig;
+        this.queueKey = queueKey;
+        this.consumersKey = queueKey + CONSUMERS_SUFFIX;
+        this.visibilityTimeoutInMilliseconds = visibilityTimeoutInMilliseconds;
+        this.requeueBatchSize = requeueBatchSize;
+    }
+
+    /**
+     * 入队
+     *
+     * @param items 元素
+     * @return 入队后队列长度
+     */
+    public Long offer(String... items) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.lpush(queueKey, items);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 出队, 元素被转移到消费者的处理中列表, 直到 {@link #ack} 或 {@link #nack}
+     *
+     * @param consumerId 消费者标识, 同一时刻只应有一个线程使用
+     * @param timeout    阻塞超时时间(秒), 0 表示一直阻塞
+     * @return 元素, 超时返回 null
+     */
+    public String take(String consumerId, int timeout) {
+        // 分段阻塞, 保证阻塞期间心跳不会超时
+        int slice = (int) Math.max(1, visibilityTimeoutInMilliseconds / 3 / 1000);
+        long deadline = System.currentTimeMillis() + timeout * 1000L;
+        String processingKey = processingKey(consumerId);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            while (true) {
+                heartbeatIfDue(jedis, consumerId);
+                int wait = slice;
+                if (timeout > 0) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    wait = (int) Math.min(slice, Math.max(1, (remaining + 999) / 1000));
+                }
+                String item = jedis.brpoplpush(queueKey, processingKey, wait);
+                if (item != null) {
+                    // 返回元素前重新登记心跳, 保证元素一定在回收范围内
+                    heartbeat(jedis, consumerId);
+                    return item;
+                }
+            }
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 确认消息处理完成
+     *
+     * @param consumerId 消费者标识
+     * @param item       元素
+     * @return 是否确认成功, false 表示该元素已被回收
+     */
+    public boolean ack(String consumerId, String item) {
+        return ack(consumerId, Arrays.asList(item)) > 0;
+    }
+
+    /**
+     * 批量确认消息处理完成, 所有确认在一次管道中完成
+     *
+     * @param consumerId 消费者标识
+     * @param items      元素
+     * @return 确认成功个数
+     */
+    public long ack(String consumerId, Collection<String> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        String processingKey = processingKey(consumerId);
+        long now = System.currentTimeMillis();
+        List<Response<Long>> responses = new ArrayList<>(items.size());
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (String item : items) {
+                responses.add(pipeline.lrem(processingKey, -1, item));
+            }
+            pipeline.zadd(consumersKey, now, consumerId);
+            pipeline.sync();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        lastHeartbeats.put(consumerId, now);
+
+        long acked = 0;
+        for (Response<Long> response : responses) {
+            acked += response.get();
+        }
+        return acked;
+    }
+
+    /**
+     * 消息处理失败, 将元素放回队列消费端, 下次优先被消费
+     *
+     * @param consumerId 消费者标识
+     * @param item       元素
+     * @return 是否放回成功, false 表示该元素已被回收
+     */
+    public boolean nack(String consumerId, String item) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(NACK_LUA_SCRIPT, Arrays.asList(processingKey(consumerId), queueKey), Arrays.asList(item));
+            return Long.valueOf(1L).equals(result);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 上报消费者心跳. 单条消息处理时间较长时, 应在处理过程中定期调用
+     *
+     * @param consumerId 消费者标识
+     */
+    public void heartbeat(String consumerId) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            heartbeat(jedis, consumerId);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 注销消费者, 消费者正常退出时调用
+     *
+     * @param consumerId 消费者标识
+     * @return 是否注销成功, false 表示处理中列表不为空, 需先 {@link #ack} 或 {@link #nack}
+     */
+    public boolean unregister(String consumerId) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Object result = jedis.eval(UNREGISTER_LUA_SCRIPT, Arrays.asList(processingKey(consumerId), consumersKey), Arrays.asList(consumerId));
+            boolean unregistered = Long.valueOf(1L).equals(result);
+            if (unregistered) {
+                lastHeartbeats.remove(consumerId);
+            }
+            return unregistered;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 回收心跳超时消费者的处理中元素, 放回队列
+     *
+     * @return 回收的元素个数
+     */
+    public long requeueStale() {
+        long cutoff = System.currentTimeMillis() - visibilityTimeoutInMilliseconds;
+        Set<String> staleConsumers;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            staleConsumers = jedis.zrangeByScore(consumersKey, "-inf", String.valueOf(cutoff));
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+
+        long requeued = 0;
+        for (String consumerId : staleConsumers) {
+            List<String> keys = Arrays.asList(processingKey(consumerId), queueKey, consumersKey);
+            List<String> args = Arrays.asList(String.valueOf(requeueBatchSize), consumerId, String.valueOf(cutoff));
+            long moved;
+            do {
+                moved = requeue(keys, args);
+                requeued += moved;
+            } while (moved >= requeueBatchSize);
+        }
+        return requeued;
+    }
+
+    private long requeue(List<String> keys, List<String> args) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return (Long) jedis.eval(REQUEUE_LUA_SCRIPT, keys, args);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 启动后台回收任务
+     *
+     * @param periodInMilliseconds 回收周期
+     */
+    public synchronized void startReaper(long periodInMilliseconds) {
+        if (reaper != null) {
+            return;
+        }
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-reliable-queue-reaper-" + queueKey);
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(() -> {
+            try {
+                long requeued = requeueStale();
+                if (requeued > 0) {
+                    LOGGER.info("Redis Reliable Queue [" + queueKey + "] Requeued " + requeued + " Stale Items");
+                }
+            } catch (JedisException e) {
+                LOGGER.log(Level.WARNING, "Jedis Requeue Stale Items Err", e);
+            }
+        }, periodInMilliseconds, periodInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    /** 停止后台回收任务 */
+    public synchronized void shutdown() {
+        if (reaper != null) {
+            reaper.shutdown();
+            reaper = null;
+        }
+    }
+
+    /**
+     * 距上次心跳超过可见性超时的 1/3 时上报心跳
+     *
+     * @param jedis      连接
+     * @param consumerId 消费者标识
+     */
+    private void heartbeatIfDue(Jedis jedis, String consumerId) {
+        Long last = lastHeartbeats.get(consumerId);
+        if (last == null || System.currentTimeMillis() - last > visibilityTimeoutInMilliseconds / 3) {
+            heartbeat(jedis, consumerId);
+        }
+    }
+
+    private void heartbeat(Jedis jedis, String consumerId) {
+        long now = System.currentTimeMillis();
+        jedis.zadd(consumersKey, now, consumerId);
+        lastHeartbeats.put(consumerId, now);
+    }
+
+    private String processingKey(String consumerId) {
+        return queueKey + PROCESSING_SUFFIX + consumerId;
+    }
+}
@@ -0,0 +1,303 @@
+package com.mingrn.common.redis.leaderboard;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 排行榜
+ * <p>
+ * 基于有序集合实现, 分数高者排名靠前. {@link #view(String, int, int)} 在一个 Lua 脚本中返回
+ * 成员的排名、分数、前后各 N 名及前 N 名, 一次网络往返即可渲染 "我的排名 + 邻近名次 + 榜首" 页面.
+ * <p>
+ * 开启时间排序({@code timeBits > 0})时, 分数相同者先达到该分数的排名靠前: 编码后的分数为
+ * {@code score * 2^timeBits + (2^timeBits - 1 - 距 epoch 的秒数)}. 编码后的分数需要精确表示为 double,
+ * 因此分数上限为 {@code 2^(53 - timeBits)}, 时间跨度上限为 {@code 2^timeBits} 秒,
+ * 如 timeBits = 30 时分数上限约 800 万, 时间跨度约 34 年.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisLeaderboard leaderboard = new RedisLeaderboard(poolConfig, "rank:season1", seasonStartMillis, 30);
+ *   leaderboard.update("player:1001", 3200);
+ *   RedisLeaderboard.View view = leaderboard.view("player:1001", 10, 100);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 00:50
+ */
+public class RedisLeaderboard {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 排行榜键 */
+    private final String key;
+    /** 时间排序的起始时间(毫秒时间戳) */
+    private final long epochMillis;
+    /** 时间部分占用的二进制位数, 0 表示不按时间排序 */
+    private final int timeBits;
+    /** 分数上限(不含) */
+    private final long maxScore;
+
+    /** double 可精确表示的整数位数 */
+    private final static int DOUBLE_PRECISION_BITS = 53;
+
+    /**
+     * 获取排行榜视图
+     * <p>
+     * KEYS[1]: 排行榜键
+     * ARGV[1]: 成员, ARGV[2]: 前后名次数, ARGV[3]: 榜首名次数
+     * 返回 {排名(从 0 开始, -1 表示不在榜), 分数, 邻近名次的起始排名, 邻近名次, 榜首}
+     */
+    private static final String VIEW_LUA_SCRIPT
+            = "local rank = redis.call('zrevrank', KEYS[1], ARGV[1]) "
+            + "local score = '' "
+            + "local from = 0 "
+            + "local around = {} "
+            + "if rank then "
+            + "  score = redis.call('zscore', KEYS[1], ARGV[1]) "
+            + "  local n = tonumber(ARGV[2]) "
+            + "  from = math.max(rank - n, 0) "
+            + "  around = redis.call('zrevrange', KEYS[1], from, rank + n, 'WITHSCORES') "
+            + "end "
+            + "local top = {} "
+            + "local topN = tonumber(ARGV[3]) "
+            + "if topN > 0 then top = redis.call('zrevrange', KEYS[1], 0, topN - 1, 'WITHSCORES') end "
+            + "return {rank or -1, score, from, around, top}";
+
+    /**
+     * 不按时间排序, 分数相同时按成员字典序倒序排名
+     *
+     * @param poolConfig 连接池
+     * @param key        排行榜键
+     */
+    public RedisLeaderboard(final AbstractPoolConfig poolConfig, final String key) {
+        this(poolConfig, key, 0, 0);
+    }
+
+    /**
+     * @param poolConfig  连接池
+     * @param key         排行榜键
+     * @param epochMillis 时间排序的起始时间(毫秒时间戳), 早于该时间的更新按该时间计算
+     * @param timeBits    时间部分占用的二进制位数, [0, 52], 0 表示不按时间排序
+     */
+    public RedisLeaderboard(final AbstractPoolConfig poolConfig, final String key, final long epochMillis, final int timeBits) {
+        if (timeBits < 0 || timeBits >= DOUBLE_PRECISION_BITS) {
+            throw new IllegalArgumentException("Time Bits Must Be In [0, 52]: " + timeBits);
+        }
+        this.poolConfig = poolConfig;
+        this.key = key;
+        this.epochMillis = epochMillis;
+        this.timeBits = timeBits;
+        this.maxScore = 1L << (DOUBLE_PRECISION_BITS - timeBits);
+    }
+
+    /**
+     * 更新成员分数, 时间排序按当前时间计算
+     *
+     * @param member 成员
+     * @param score  分数, [0, 2^(53 - timeBits))
+     * @return true: 新增成员, false: 更新已有成员
+     */
+    public boolean update(String member, long score) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.zadd(key, encode(score, System.currentTimeMillis()), member) == 1;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 批量更新成员分数, 一条 ZADD 命令, 时间排序按当前时间计算
+     *
+     * @param scores 成员 - 分数
+     * @return 新增成员个数
+     */
+    public long update(Map<String, Long> scores) {
+        if (scores.isEmpty()) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        Map<String, Double> scoreMembers = new HashMap<>(scores.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Long> score : scores.entrySet()) {
+            scoreMembers.put(score.getKey(), encode(score.getValue(), now));
+        }
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.zadd(key, scoreMembers);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 移除成员
+     *
+     * @param members 成员
+     * @return 移除成功个数
+     */
+    public long remove(String... members) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.zrem(key, members);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 排行榜成员个数
+     */
+    public long size() {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.zcard(key);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 获取排行榜视图, 一次网络往返
+     *
+     * @param member     成员
+     * @param neighbours 前后各取的名次数
+     * @param topN       榜首名次数, 0 表示不获取
+     * @return 排行榜视图
+     */
+    @SuppressWarnings("unchecked")
+    public View view(String member, int neighbours, int topN) {
+        if (neighbours < 0 || topN < 0) {
+            throw new IllegalArgumentException("Neighbours And Top N Must Not Be Negative");
+        }
+        Object result;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            result = jedis.eval(VIEW_LUA_SCRIPT, Collections.singletonList(key),
+                    Arrays.asList(member, String.valueOf(neighbours), String.valueOf(topN)));
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        List<Object> reply = (List<Object>) result;
+        long rank = (Long) reply.get(0);
+        String score = (String) reply.get(1);
+        return new View(rank < 0 ? -1 : rank + 1, score.isEmpty() ? -1 : decode(score),
+                entries((Long) reply.get(2), (List<String>) reply.get(3)), entries(0, (List<String>) reply.get(4)));
+    }
+
+    /**
+     * 编码分数
+     *
+     * @param score           分数
+     * @param timestampMillis 达到该分数的时间(毫秒时间戳)
+     * @return 有序集合中的分数
+     */
+    private double encode(long score, long timestampMillis) {
+        if (score < 0 || score >= maxScore) {
+            throw new IllegalArgumentException("Score Must Be In [0, " + maxScore + "): " + score);
+        }
+        if (timeBits == 0) {
+            return score;
+        }
+        long maxTime = (1L << timeBits) - 1;
+        long elapsedSeconds = Math.min(Math.max(0, (timestampMillis - epochMillis) / 1000), maxTime);
+        return (score << timeBits) + (maxTime - elapsedSeconds);
+    }
+
+    private long decode(String encoded) {
+        return (long) Double.parseDouble(encoded) >>> timeBits;
+    }
+
+    private List<Entry> entries(long fromRank, List<String> memberScores) {
+        List<Entry> entries = new ArrayList<>(memberScores.size() / 2);
+        for (int i = 0; i + 1 < memberScores.size(); i += 2) {
+            entries.add(new Entry(fromRank + i / 2 + 1, memberScores.get(i), decode(memberScores.get(i + 1))));
+        }
+        return entries;
+    }
+
+    /**
+     * 排行榜名次
+     */
+    public static class Entry {
+
+        /** 排名, 从 1 开始 */
+        private final long rank;
+        /** 成员 */
+        private final String member;
+        /** 分数 */
+        private final long score;
+
+        Entry(long rank, String member, long score) {
+            this.rank = rank;
+            this.member = member;
+            this.score = score;
+        }
+
+        public long getRank() {
+            return rank;
+        }
+
+        public String getMember() {
+            return member;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return rank + ". " + member + " [" + score + "]";
+        }
+    }
+
+    /**
+     * 排行榜视图
+     */
+    public static class View {
+
+        /** 排名, 从 1 开始, -1 表示不在榜 */
+        private final long rank;
+        /** 分数, -1 表示不在榜 */
+        private final long score;
+        /** 邻近名次, 包含成员自身 */
+        private final List<Entry> neighbours;
+        /** 榜首 */
+        private final List<Entry> top;
+
+        View(long rank, long score, List<Entry> neighbours, List<Entry> top) {
+            this.rank = rank;
+            this.score = score;
+            this.neighbours = neighbours;
+            this.top = top;
+        }
+
+        public long getRank() {
+            return rank;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public List<Entry> getNeighbours() {
+            return neighbours;
+        }
+
+        public List<Entry> getTop() {
+            return top;
+        }
+    }
+}
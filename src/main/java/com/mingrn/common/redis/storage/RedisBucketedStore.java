@@ -0,0 +1,247 @@
+package com.mingrn.common.redis.storage;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 分桶键值存储
+ * <p>
+ * 将大量小键值对按键的哈希值分散到固定个数的哈希桶中, 逻辑键作为桶内字段保存, 而不是各自作为顶层键.
+ * 只要每个桶的字段数不超过 {@code hash-max-ziplist-entries}(Redis 7 为 {@code hash-max-listpack-entries}, 默认 128)、
+ * 值长度不超过 {@code hash-max-ziplist-value}(默认 64 字节), 桶就保持紧凑编码,
+ * 省去了每个顶层键的字典项、对象头等开销, 内存通常可以降低数倍. 桶个数可使用 {@link #bucketCount(long, int)} 估算.
+ * <p>
+ * 批量操作按桶分组, 每个桶一条 HMGET/HMSET/HDEL, 所有桶在一次管道中执行.
+ * <p>
+ * 注意: 桶内字段无法单独设置过期时间; 桶个数确定后不能修改, 否则键会映射到不同的桶.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisBucketedStore store = new RedisBucketedStore(poolConfig, "user:avatar",
+ *           RedisBucketedStore.bucketCount(200_000_000L, 100));
+ *   store.set("1001", "a.png");
+ *   Map<String, String> avatars = store.getAll(Arrays.asList("1001", "1002"));
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 00:30
+ */
+public class RedisBucketedStore {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 桶键前缀 */
+    private final String namespace;
+    /** 桶个数 */
+    private final int bucketCount;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+
+    /**
+     * @param poolConfig  连接池
+     * @param namespace   桶键前缀, 桶键为 {@code namespace:桶序号}
+     * @param bucketCount 桶个数, 确定后不能修改
+     */
+    public RedisBucketedStore(final AbstractPoolConfig poolConfig, final String namespace, final int bucketCount) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket Count Must Be Positive: " + bucketCount);
+        }
+        this.poolConfig = poolConfig;
+        this.namespace = namespace;
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * 估算桶个数
+     *
+     * @param expectedKeys     预计键个数
+     * @param entriesPerBucket 每个桶的平均字段数, 应留有余量, 小于 {@code hash-max-ziplist-entries}
+     * @return 桶个数
+     */
+    public static int bucketCount(long expectedKeys, int entriesPerBucket) {
+        if (expectedKeys <= 0 || entriesPerBucket <= 0) {
+            throw new IllegalArgumentException("Expected Keys And Entries Per Bucket Must Be Positive");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (expectedKeys + entriesPerBucket - 1) / entriesPerBucket);
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 逻辑键
+     * @return 值, 不存在时为 null
+     */
+    public String get(String key) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.hget(bucketOf(key), key);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 设置值
+     *
+     * @param key 逻辑键
+     * @param val 值
+     * @return true: 新增键, false: 更新已有键
+     */
+    public boolean set(String key, String val) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.hset(bucketOf(key), key, val) == 1;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 删除键
+     *
+     * @param key 逻辑键
+     * @return 是否删除成功
+     */
+    public boolean delete(String key) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.hdel(bucketOf(key), key) > 0;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 键是否存在
+     *
+     * @param key 逻辑键
+     * @return 是否存在
+     */
+    public boolean exists(String key) {
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            return jedis.hexists(bucketOf(key), key);
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 批量获取值, 按桶分组在一次管道中执行
+     *
+     * @param keys 逻辑键
+     * @return 键 - 值, 不包含不存在的键
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, List<String>> buckets = groupByBucket(keys);
+        Map<String, Response<List<String>>> responses = new HashMap<>(buckets.size() * 4 / 3 + 1);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, List<String>> bucket : buckets.entrySet()) {
+                responses.put(bucket.getKey(), pipeline.hmget(bucket.getKey(), bucket.getValue().toArray(new String[0])));
+            }
+            pipeline.sync();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+
+        Map<String, String> result = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (Map.Entry<String, List<String>> bucket : buckets.entrySet()) {
+            List<String> fields = bucket.getValue();
+            List<String> vals = responses.get(bucket.getKey()).get();
+            for (int i = 0; i < fields.size(); i++) {
+                if (vals.get(i) != null) {
+                    result.put(fields.get(i), vals.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量设置值, 按桶分组在一次管道中执行
+     *
+     * @param entries 键 - 值
+     */
+    public void setAll(Map<String, String> entries) {
+        Map<String, Map<String, String>> buckets = new HashMap<>();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            buckets.computeIfAbsent(bucketOf(entry.getKey()), b -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, Map<String, String>> bucket : buckets.entrySet()) {
+                pipeline.hmset(bucket.getKey(), bucket.getValue());
+            }
+            pipeline.sync();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 批量删除键, 按桶分组在一次管道中执行
+     *
+     * @param keys 逻辑键
+     * @return 删除成功个数
+     */
+    public long deleteAll(Collection<String> keys) {
+        Map<String, List<String>> buckets = groupByBucket(keys);
+        List<Response<Long>> responses = new ArrayList<>(buckets.size());
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            for (Map.Entry<String, List<String>> bucket : buckets.entrySet()) {
+                responses.add(pipeline.hdel(bucket.getKey(), bucket.getValue().toArray(new String[0])));
+            }
+            pipeline.sync();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+
+        long deleted = 0;
+        for (Response<Long> response : responses) {
+            deleted += response.get();
+        }
+        return deleted;
+    }
+
+    /**
+     * 逻辑键所在的桶键
+     *
+     * @param key 逻辑键
+     * @return 桶键
+     */
+    public String bucketOf(String key) {
+        int bucket = Math.floorMod(HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asInt(), bucketCount);
+        return namespace + ":" + bucket;
+    }
+
+    private Map<String, List<String>> groupByBucket(Collection<String> keys) {
+        Map<String, List<String>> buckets = new HashMap<>();
+        for (String key : keys) {
+            buckets.computeIfAbsent(bucketOf(key), b -> new ArrayList<>()).add(key);
+        }
+        return buckets;
+    }
+}
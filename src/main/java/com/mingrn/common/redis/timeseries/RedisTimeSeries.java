@@ -0,0 +1,587 @@
+package com.mingrn.common.redis.timeseries;
+
+import com.mingrn.common.redis.config.AbstractPoolConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Redis 时间序列
+ * <p>
+ * 每个序列按若干精度保存, 如 1秒 → 1分钟 → 1小时, 第一个精度保存原始样本, 之后的精度由上一精度汇总(rollup)得到.
+ * 每个精度的数据按时间切分为多个块, 每块是一个有序集合, 覆盖 {@code 精度 * pointsPerChunk} 毫秒,
+ * 分数为时间戳, 成员为 {@code sum:count:min:max:id}, 原始样本即 count 为 1 的数据点.
+ * 每个精度另有一个索引有序集合记录所有块, 以及一个水位线记录已汇总到的时间.
+ * <p>
+ * {@link #aggregate(String, long, long, long)} 在 Lua 脚本中按桶计算 min/max/sum/count,
+ * 只返回每个桶的汇总结果. {@link #start(long)} 启动的后台任务每次对每个序列每个精度最多汇总 {@code batchSize} 个桶、
+ * 删除 {@code batchSize} 个过期块, 单次执行的开销有上限. 块同时设置了过期时间, 后台任务停止时数据也不会无限增长.
+ * <p>
+ * 同一序列的键使用相同的 hash tag, 在集群模式下位于同一个槽.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   RedisTimeSeries timeSeries = new RedisTimeSeries(poolConfig, "ts", Arrays.asList(
+ *           Resolution.of(1, TimeUnit.SECONDS, 1, TimeUnit.DAYS),
+ *           Resolution.of(1, TimeUnit.MINUTES, 30, TimeUnit.DAYS),
+ *           Resolution.of(1, TimeUnit.HOURS, 365, TimeUnit.DAYS)));
+ *   timeSeries.start(10000);
+ *   timeSeries.add("api.latency", System.currentTimeMillis(), 12.5);
+ *   List<DataPoint> points = timeSeries.aggregate("api.latency", from, to, 60000);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 01:30
+ */
+public class RedisTimeSeries {
+
+    /** 连接池 */
+    private final AbstractPoolConfig poolConfig;
+    /** 键前缀 */
+    private final String keyPrefix;
+    /** 精度, 从细到粗 */
+    private final List<Resolution> resolutions;
+    /** 每块包含的数据点个数 */
+    private final int pointsPerChunk;
+    /** 后台任务每次每个精度最多处理的桶或块个数 */
+    private final int batchSize;
+    /** 桶结束后等待迟到样本的毫秒数, 之后才汇总 */
+    private final long latenessInMilliseconds;
+
+    /** 本地已登记的序列 */
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+
+    /** 默认每块3600个数据点 */
+    private final static int POINTS_PER_CHUNK = 3600;
+    /** 默认后台任务每次最多处理1000个桶或块 */
+    private final static int BATCH_SIZE = 1000;
+    /** 默认等待迟到样本5秒 */
+    private final static long LATENESS_IN_MILLISECONDS = 5000;
+
+    private static final AtomicInteger INSTANCE_INDEX = new AtomicInteger();
+
+    /**
+     * 汇总一个桶并推进水位线
+     * <p>
+     * KEYS[1]: 源块, KEYS[2]: 目标块, KEYS[3]: 目标索引, KEYS[4]: 目标水位线
+     * ARGV[1]: 桶起始时间, ARGV[2]: 桶结束时间(不含), ARGV[3]: 目标块起始时间, ARGV[4]: 目标块过期时间
+     * 返回汇总的数据点个数
+     */
+    private static final byte[] ROLLUP_LUA_SCRIPT = SafeEncoder.encode(
+            "local points = redis.call('zrangebyscore', KEYS[1], ARGV[1], '(' .. ARGV[2]) "
+                    + "if #points > 0 then "
+                    + "  local sum, count, min, max = 0, 0, nil, nil "
+                    + "  for i = 1, #points do "
+                    + "    local s, c, mn, mx = string.match(points[i], '^([^:]+):([^:]+):([^:]+):([^:]+)') "
+                    + "    sum = sum + tonumber(s) "
+                    + "    count = count + tonumber(c) "
+                    + "    mn = tonumber(mn) "
+                    + "    mx = tonumber(mx) "
+                    + "    if min == nil or mn < min then min = mn end "
+                    + "    if max == nil or mx > max then max = mx end "
+                    + "  end "
+                    + "  redis.call('zremrangebyscore', KEYS[2], ARGV[1], ARGV[1]) "
+                    + "  redis.call('zadd', KEYS[2], ARGV[1], string.format('%.17g:%.0f:%.17g:%.17g:', sum, count, min, max) .. ARGV[1]) "
+                    + "  redis.call('zadd', KEYS[3], ARGV[3], KEYS[2]) "
+                    + "  redis.call('pexpireat', KEYS[2], ARGV[4]) "
+                    + "end "
+                    + "if tonumber(ARGV[2]) > tonumber(redis.call('get', KEYS[4]) or '0') then redis.call('set', KEYS[4], ARGV[2]) end "
+                    + "return #points");
+
+    /**
+     * 按桶汇总
+     * <p>
+     * KEYS: 覆盖查询范围的块
+     * ARGV[1]: 起始时间(已对齐到桶边界), ARGV[2]: 结束时间(不含), ARGV[3]: 桶毫秒数
+     * 返回按时间排序的 {@code 桶起始时间:sum:count:min:max}
+     */
+    private static final String AGGREGATE_LUA_SCRIPT
+            = "local from, size = tonumber(ARGV[1]), tonumber(ARGV[3]) "
+            + "local buckets, order = {}, {} "
+            + "for k = 1, #KEYS do "
+            + "  local points = redis.call('zrangebyscore', KEYS[k], ARGV[1], '(' .. ARGV[2], 'WITHSCORES') "
+            + "  for i = 1, #points, 2 do "
+            + "    local b = from + math.floor((tonumber(points[i + 1]) - from) / size) * size "
+            + "    local s, c, mn, mx = string.match(points[i], '^([^:]+):([^:]+):([^:]+):([^:]+)') "
+            + "    s, c, mn, mx = tonumber(s), tonumber(c), tonumber(mn), tonumber(mx) "
+            + "    local agg = buckets[b] "
+            + "    if agg == nil then "
+            + "      buckets[b] = {s, c, mn, mx} "
+            + "      order[#order + 1] = b "
+            + "    else "
+            + "      agg[1] = agg[1] + s "
+            + "      agg[2] = agg[2] + c "
+            + "      if mn < agg[3] then agg[3] = mn end "
+            + "      if mx > agg[4] then agg[4] = mx end "
+            + "    end "
+            + "  end "
+            + "end "
+            + "table.sort(order) "
+            + "local result = {} "
+            + "for i = 1, #order do "
+            + "  local agg = buckets[order[i]] "
+            + "  result[i] = string.format('%.0f:%.17g:%.0f:%.17g:%.17g', order[i], agg[1], agg[2], agg[3], agg[4]) "
+            + "end "
+            + "return result";
+
+    private static final Logger LOGGER = Logger.getLogger(RedisTimeSeries.class.getName());
+
+    public RedisTimeSeries(final AbstractPoolConfig poolConfig, final String keyPrefix, final List<Resolution> resolutions) {
+        this(poolConfig, keyPrefix, resolutions, POINTS_PER_CHUNK, BATCH_SIZE, LATENESS_IN_MILLISECONDS);
+    }
+
+    /**
+     * @param poolConfig             连接池
+     * @param keyPrefix              键前缀
+     * @param resolutions            精度, 从细到粗, 每个精度须为上一精度的整数倍, 且整除上一精度的块跨度
+     * @param pointsPerChunk         每块包含的数据点个数
+     * @param batchSize              后台任务每次每个精度最多处理的桶或块个数
+     * @param latenessInMilliseconds 桶结束后等待迟到样本的毫秒数, 之后才汇总
+     */
+    public RedisTimeSeries(final AbstractPoolConfig poolConfig, final String keyPrefix, final List<Resolution> resolutions,
+                           final int pointsPerChunk, final int batchSize, final long latenessInMilliseconds) {
+        if (resolutions.isEmpty() || pointsPerChunk <= 0 || batchSize <= 0 || latenessInMilliseconds < 0) {
+            throw new IllegalArgumentException("Resolutions Must Not Be Empty, Points Per Chunk And Batch Size Must Be Positive");
+        }
+        for (int i = 1; i < resolutions.size(); i++) {
+            long source = resolutions.get(i - 1).intervalInMilliseconds;
+            long target = resolutions.get(i).intervalInMilliseconds;
+            if (target <= source || target % source != 0 || source * pointsPerChunk % target != 0) {
+                throw new IllegalArgumentException("Resolution " + target + "ms Must Be A Multiple Of " + source
+                        + "ms And Divide Its Chunk Span " + source * pointsPerChunk + "ms");
+            }
+        }
+        this.poolConfig = poolConfig;
+        this.keyPrefix = keyPrefix;
+        this.resolutions = new ArrayList<>(resolutions);
+        this.pointsPerChunk = pointsPerChunk;
+        this.batchSize = batchSize;
+        this.latenessInMilliseconds = latenessInMilliseconds;
+    }
+
+    /**
+     * 写入样本
+     *
+     * @param series          序列名
+     * @param timestampMillis 样本时间(毫秒时间戳)
+     * @param value           样本值
+     */
+    public void add(String series, long timestampMillis, double value) {
+        add(series, Collections.singletonList(new Sample(timestampMillis, value)));
+    }
+
+    /**
+     * 批量写入样本, 一次网络往返
+     *
+     * @param series  序列名
+     * @param samples 样本
+     */
+    public void add(String series, List<Sample> samples) {
+        Resolution raw = resolutions.get(0);
+        long span = chunkSpan(0);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Pipeline pipeline = jedis.pipelined();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (Sample sample : samples) {
+                String v = String.valueOf(sample.value);
+                long chunkStart = floor(sample.timestampMillis, span);
+                String chunk = chunkKey(series, 0, chunkStart);
+                pipeline.zadd(chunk, sample.timestampMillis, v + ":1:" + v + ":" + v + ":" + Long.toHexString(random.nextLong()));
+                pipeline.pexpireAt(chunk, chunkStart + span + raw.retentionInMilliseconds);
+                pipeline.zadd(indexKey(series, 0), chunkStart, chunk);
+            }
+            if (registered.add(series)) {
+                pipeline.sadd(seriesKey(), series);
+            }
+            pipeline.sync();
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 按桶汇总, 优先使用能整除桶毫秒数的最粗精度
+     * <p>
+     * 汇总精度只在其水位线之前有数据, 水位线之后(含后台任务从未执行的情况)的桶改用更细的精度, 直至原始样本,
+     * 因此结果总是包含最新数据. 桶按 {@code bucketMillis} 的整数倍对齐, 起始时间向下对齐到桶边界;
+     * 切分点同样对齐到桶边界, 汇总精度只用于完整的桶, 每个桶只来自一个精度, 不会重复或遗漏.
+     *
+     * @param series       序列名
+     * @param from         起始时间(毫秒时间戳), 向下对齐到桶边界
+     * @param to           结束时间(毫秒时间戳, 不含)
+     * @param bucketMillis 桶毫秒数
+     * @return 按时间排序的非空桶
+     */
+    public List<DataPoint> aggregate(String series, long from, long to, long bucketMillis) {
+        if (bucketMillis <= 0 || from >= to) {
+            throw new IllegalArgumentException("Bucket Millis Must Be Positive And From Must Be Before To");
+        }
+        List<DataPoint> points = new ArrayList<>();
+        long start = floor(from, bucketMillis);
+        // 汇总精度的数据点覆盖 [时间戳, 时间戳 + 精度), 只能用于结束时间之前的完整桶
+        long lastBucketEnd = floor(to, bucketMillis);
+        for (int level = resolutions.size() - 1; level > 0 && start < to; level--) {
+            if (bucketMillis % resolutions.get(level).intervalInMilliseconds != 0) {
+                continue;
+            }
+            String watermark;
+            Jedis jedis = null;
+            try {
+                jedis = poolConfig.acquireResource();
+                watermark = jedis.get(watermarkKey(series, level));
+            } finally {
+                AbstractPoolConfig.releaseResource(jedis);
+            }
+            if (watermark == null) {
+                continue;
+            }
+            // 水位线之前的完整桶使用该精度
+            long split = Math.min(lastBucketEnd, floor(Long.parseLong(watermark), bucketMillis));
+            if (split > start) {
+                points.addAll(aggregate(series, level, start, split, bucketMillis));
+                start = split;
+            }
+        }
+        if (start < to) {
+            points.addAll(aggregate(series, 0, start, to, bucketMillis));
+        }
+        return points;
+    }
+
+    /**
+     * 使用指定精度的数据按桶汇总, 汇总在 Redis 中完成, 只返回每个桶的结果
+     * <p>
+     * 桶按 {@code bucketMillis} 的整数倍对齐, 起始时间向下对齐到桶边界.
+     * 汇总精度(level > 0)的数据点覆盖 {@code [时间戳, 时间戳 + 精度)}, 桶毫秒数与结束时间须为该精度的整数倍,
+     * 否则数据点会跨越桶边界或结束时间.
+     * <p>
+     * 注意: 汇总精度只包含后台任务已汇总到水位线之前的数据, 水位线之后的桶不会返回,
+     * 需要最新数据时使用 {@link #aggregate(String, long, long, long)}.
+     *
+     * @param series       序列名
+     * @param level        精度序号, 0 为原始样本
+     * @param from         起始时间(毫秒时间戳), 向下对齐到桶边界
+     * @param to           结束时间(毫秒时间戳, 不含)
+     * @param bucketMillis 桶毫秒数
+     * @return 按时间排序的非空桶
+     */
+    @SuppressWarnings("unchecked")
+    public List<DataPoint> aggregate(String series, int level, long from, long to, long bucketMillis) {
+        if (bucketMillis <= 0 || from >= to) {
+            throw new IllegalArgumentException("Bucket Millis Must Be Positive And From Must Be Before To");
+        }
+        long interval = resolutions.get(level).intervalInMilliseconds;
+        if (level > 0 && (bucketMillis % interval != 0 || to % interval != 0)) {
+            throw new IllegalArgumentException("Bucket Millis And To Must Be Multiples Of Resolution " + interval + "ms");
+        }
+        long start = floor(from, bucketMillis);
+        long span = chunkSpan(level);
+        List<String> chunks = new ArrayList<>();
+        for (long chunkStart = floor(start, span); chunkStart < to; chunkStart += span) {
+            chunks.add(chunkKey(series, level, chunkStart));
+        }
+
+        Object result;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            result = jedis.eval(AGGREGATE_LUA_SCRIPT, chunks,
+                    Arrays.asList(String.valueOf(start), String.valueOf(to), String.valueOf(bucketMillis)));
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        List<String> buckets = (List<String>) result;
+        List<DataPoint> points = new ArrayList<>(buckets.size());
+        for (String bucket : buckets) {
+            String[] fields = bucket.split(":");
+            points.add(new DataPoint(Long.parseLong(fields[0]), Double.parseDouble(fields[1]), Long.parseLong(fields[2]),
+                    Double.parseDouble(fields[3]), Double.parseDouble(fields[4])));
+        }
+        return points;
+    }
+
+    /**
+     * 启动后台汇总与过期清理任务
+     *
+     * @param periodInMilliseconds 执行间隔毫秒数
+     */
+    public synchronized void start(long periodInMilliseconds) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Redis Time Series [" + keyPrefix + "] Has Already Been Started");
+        }
+        int index = INSTANCE_INDEX.incrementAndGet();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-timeseries-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                maintain();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Redis Time Series [" + keyPrefix + "] Maintain Err", e);
+            }
+        }, periodInMilliseconds, periodInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    /** 停止后台任务 */
+    public synchronized void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /**
+     * 对所有序列执行一次汇总与过期清理, 每个序列每个精度最多处理 {@code batchSize} 个桶或块
+     */
+    public void maintain() {
+        Set<String> allSeries;
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            allSeries = jedis.smembers(seriesKey());
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+        for (String series : allSeries) {
+            try {
+                for (int level = 1; level < resolutions.size(); level++) {
+                    rollup(series, level);
+                }
+                for (int level = 0; level < resolutions.size(); level++) {
+                    expire(series, level);
+                }
+            } catch (JedisException e) {
+                LOGGER.log(Level.WARNING, "Redis Time Series [" + series + "] Maintain Err", e);
+            }
+        }
+    }
+
+    /**
+     * 从水位线开始, 将上一精度的数据汇总到指定精度, 最多汇总 {@code batchSize} 个桶
+     *
+     * @param series 序列名
+     * @param level  目标精度序号
+     * @return 汇总的桶个数
+     */
+    private int rollup(String series, int level) {
+        Resolution target = resolutions.get(level);
+        long interval = target.intervalInMilliseconds;
+        long end = floor(System.currentTimeMillis() - latenessInMilliseconds, interval);
+        long sourceSpan = chunkSpan(level - 1);
+        long targetSpan = chunkSpan(level);
+        String watermarkKey = watermarkKey(series, level);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            if (level > 1) {
+                // 上一精度本身由汇总得到, 只能汇总到其水位线
+                String sourceWatermark = jedis.get(watermarkKey(series, level - 1));
+                if (sourceWatermark == null) {
+                    return 0;
+                }
+                end = Math.min(end, floor(Long.parseLong(sourceWatermark), interval));
+            }
+            String watermark = jedis.get(watermarkKey);
+            long from;
+            if (watermark != null) {
+                from = Long.parseLong(watermark);
+            } else {
+                // 首次汇总, 从最早的源块开始
+                Set<Tuple> first = jedis.zrangeWithScores(indexKey(series, level - 1), 0, 0);
+                if (first.isEmpty()) {
+                    return 0;
+                }
+                from = floor((long) first.iterator().next().getScore(), interval);
+            }
+            int buckets = (int) Math.min(batchSize, Math.max(0, (end - from) / interval));
+            if (buckets == 0) {
+                return 0;
+            }
+
+            byte[] targetIndex = SafeEncoder.encode(indexKey(series, level));
+            byte[] watermarkBytes = SafeEncoder.encode(watermarkKey);
+            Pipeline pipeline = jedis.pipelined();
+            for (int i = 0; i < buckets; i++) {
+                long bucketStart = from + i * interval;
+                long targetChunkStart = floor(bucketStart, targetSpan);
+                List<byte[]> keys = Arrays.asList(SafeEncoder.encode(chunkKey(series, level - 1, floor(bucketStart, sourceSpan))),
+                        SafeEncoder.encode(chunkKey(series, level, targetChunkStart)), targetIndex, watermarkBytes);
+                List<byte[]> args = Arrays.asList(SafeEncoder.encode(String.valueOf(bucketStart)),
+                        SafeEncoder.encode(String.valueOf(bucketStart + interval)), SafeEncoder.encode(String.valueOf(targetChunkStart)),
+                        SafeEncoder.encode(String.valueOf(targetChunkStart + targetSpan + target.retentionInMilliseconds)));
+                pipeline.eval(ROLLUP_LUA_SCRIPT, keys, args);
+            }
+            pipeline.sync();
+            return buckets;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    /**
+     * 删除指定精度中已完全过期的块, 最多删除 {@code batchSize} 个
+     *
+     * @param series 序列名
+     * @param level  精度序号
+     * @return 删除的块个数
+     */
+    private int expire(String series, int level) {
+        long cutoff = System.currentTimeMillis() - resolutions.get(level).retentionInMilliseconds - chunkSpan(level);
+        String indexKey = indexKey(series, level);
+        Jedis jedis = null;
+        try {
+            jedis = poolConfig.acquireResource();
+            Set<String> chunks = jedis.zrangeByScore(indexKey, "-inf", String.valueOf(cutoff), 0, batchSize);
+            if (chunks.isEmpty()) {
+                return 0;
+            }
+            String[] expired = chunks.toArray(new String[0]);
+            Pipeline pipeline = jedis.pipelined();
+            pipeline.del(expired);
+            pipeline.zrem(indexKey, expired);
+            pipeline.sync();
+            return expired.length;
+        } finally {
+            AbstractPoolConfig.releaseResource(jedis);
+        }
+    }
+
+    private long chunkSpan(int level) {
+        return resolutions.get(level).intervalInMilliseconds * pointsPerChunk;
+    }
+
+    private static long floor(long timestamp, long unit) {
+        return Math.floorDiv(timestamp, unit) * unit;
+    }
+
+    private String seriesKey() {
+        return keyPrefix + ":series";
+    }
+
+    private String chunkKey(String series, int level, long chunkStart) {
+        return keyPrefix + ":{" + series + "}:" + level + ":" + chunkStart;
+    }
+
+    private String indexKey(String series, int level) {
+        return keyPrefix + ":{" + series + "}:" + level + ":index";
+    }
+
+    private String watermarkKey(String series, int level) {
+        return keyPrefix + ":{" + series + "}:" + level + ":watermark";
+    }
+
+    /**
+     * 精度: 数据点间隔与保留时长
+     */
+    public static class Resolution {
+
+        /** 数据点间隔毫秒数 */
+        private final long intervalInMilliseconds;
+        /** 保留毫秒数 */
+        private final long retentionInMilliseconds;
+
+        private Resolution(long intervalInMilliseconds, long retentionInMilliseconds) {
+            if (intervalInMilliseconds <= 0 || retentionInMilliseconds <= 0) {
+                throw new IllegalArgumentException("Interval And Retention Must Be Positive");
+            }
+            this.intervalInMilliseconds = intervalInMilliseconds;
+            this.retentionInMilliseconds = retentionInMilliseconds;
+        }
+
+        public static Resolution of(long interval, TimeUnit intervalUnit, long retention, TimeUnit retentionUnit) {
+            return new Resolution(intervalUnit.toMillis(interval), retentionUnit.toMillis(retention));
+        }
+    }
+
+    /**
+     * 样本
+     */
+    public static class Sample {
+
+        /** 样本时间(毫秒时间戳) */
+        private final long timestampMillis;
+        /** 样本值 */
+        private final double value;
+
+        public Sample(long timestampMillis, double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("Sample Value Must Be Finite: " + value);
+            }
+            this.timestampMillis = timestampMillis;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 桶汇总结果
+     */
+    public static class DataPoint {
+
+        /** 桶起始时间(毫秒时间戳) */
+        private final long timestamp;
+        private final double sum;
+        private final long count;
+        private final double min;
+        private final double max;
+
+        DataPoint(long timestamp, double sum, long count, double min, double max) {
+            this.timestamp = timestamp;
+            this.sum = sum;
+            this.count = count;
+            this.min = min;
+            this.max = max;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getAvg() {
+            return sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + " [sum: " + sum + ", count: " + count + ", min: " + min + ", max: " + max + "]";
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.mingrn.common.redis.util.iterator;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 分页预取迭代器
+ * <p>
+ * 按页从 Redis 拉取数据, 在调用方消费当前页的同时, 异步拉取下一页,
+ * 从而将网络往返时间隐藏在消费时间内. 任一时刻内存中最多只有两页数据.
+ * <p>
+ * 子类实现 {@link #fetchPage()} 拉取下一页, 并在拉取到最后一页时调用 {@link #finish()}.
+ * {@link #fetchPage()} 由预取线程依次调用, 上一页拉取完成后才会拉取下一页, 子类无需考虑并发.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   PrefetchIterator<String> iterator = new PrefetchIterator<String>() {
+ *       private long start = 0;
+ *
+ *       protected List<String> fetchPage() {
+ *           List<String> page = listClient.listRange(key, start, start + 999);
+ *           start += page.size();
+ *           if (page.size() < 1000) {
+ *               finish();
+ *           }
+ *           return page;
+ *       }
+ *   };
+ *   iterator.stream().forEach(System.out::println);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 21:30
+ */
+public abstract class PrefetchIterator<E> implements Iterator<E> {
+
+    /** 默认预取线程池, 守护线程 */
+    private static final ExecutorService DEFAULT_EXECUTOR;
+
+    static {
+        AtomicInteger threadIndex = new AtomicInteger();
+        DEFAULT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "redis-prefetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** 预取线程池 */
+    private final Executor executor;
+    /** 当前页 */
+    private Iterator<E> current = Collections.emptyIterator();
+    /** 下一页 */
+    private CompletableFuture<List<E>> next;
+    /** 是否已开始拉取 */
+    private boolean started;
+    /** 是否已拉取到最后一页 */
+    private volatile boolean finished;
+
+    protected PrefetchIterator() {
+        this(DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param executor 预取线程池
+     */
+    protected PrefetchIterator(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 拉取下一页, 拉取到最后一页时应调用 {@link #finish()}
+     *
+     * @return 下一页数据, 可以为空页
+     */
+    protected abstract List<E> fetchPage();
+
+    /** 标识已拉取到最后一页 */
+    protected final void finish() {
+        this.finished = true;
+    }
+
+    /**
+     * 立即开始拉取首页, 不必等到首次调用 {@link #hasNext()}
+     *
+     * @return this
+     */
+    public PrefetchIterator<E> start() {
+        if (!started) {
+            started = true;
+            next = prefetch();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            start();
+            if (next == null) {
+                return false;
+            }
+            List<E> page = await(next);
+            next = finished ? null : prefetch();
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * 转换为顺序流
+     *
+     * @return {@link Stream}
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private CompletableFuture<List<E>> prefetch() {
+        return CompletableFuture.supplyAsync(this::fetchPage, executor);
+    }
+
+    private static <E> List<E> await(CompletableFuture<List<E>> future) {
+        try {
+            List<E> page = future.join();
+            return page == null ? Collections.<E>emptyList() : page;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mingrn.common.redis.util.iterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 轮询合并多个预取迭代器
+ * <p>
+ * 构造时即启动所有迭代器的首页拉取, 之后按轮询顺序依次从各迭代器取元素.
+ * 由于每个迭代器都会在消费当前页时预取下一页, 多个数据源(如多个数据库或集群节点)的拉取是并发进行的.
+ * 合并后的元素顺序不保证与任一数据源一致.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 22:40
+ */
+public class RoundRobinIterator<E> implements Iterator<E> {
+
+    /** 尚未迭代完成的迭代器 */
+    private final List<PrefetchIterator<E>> iterators;
+    /** 下一个取元素的迭代器下标 */
+    private int index;
+
+    public RoundRobinIterator(List<? extends PrefetchIterator<E>> iterators) {
+        this.iterators = new ArrayList<>(iterators);
+        for (PrefetchIterator<E> iterator : this.iterators) {
+            iterator.start();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!iterators.isEmpty()) {
+            if (index >= iterators.size()) {
+                index = 0;
+            }
+            if (iterators.get(index).hasNext()) {
+                return true;
+            }
+            iterators.remove(index);
+        }
+        return false;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return iterators.get(index++).next();
+    }
+
+    /**
+     * 转换为顺序流
+     *
+     * @return {@link Stream}
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL), false);
+    }
+}
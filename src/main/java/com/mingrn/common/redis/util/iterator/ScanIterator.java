@@ -0,0 +1,124 @@
+package com.mingrn.common.redis.util.iterator;
+
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * 游标迭代器
+ * <p>
+ * 将 SCAN、HSCAN、SSCAN、ZSCAN 等游标命令封装为迭代器, 内部驱动游标直到返回 "0",
+ * 并在消费当前页时异步拉取下一页. 每页单独借还连接, 迭代过程中不会长时间占用连接.
+ * <p>
+ * 与游标命令一致, 迭代过程中被修改的元素可能重复返回或遗漏, 调用方应能容忍重复元素.
+ * <p>
+ * 使用 {@link #ScanIterator(BiFunction, String, int, long)} 构造时, COUNT 参数会根据每次调用的服务端耗时自动调整:
+ * 耗时低于目标耗时的一半时加倍, 高于目标耗时时减半, 使单次调用既不会长时间阻塞 Redis, 也不会因 COUNT 过小而迭代过慢.
+ * 客户端测得的耗时包含借连接与网络往返, 以迭代过程中观测到的最小耗时作为基线扣除, 剩余部分近似为服务端耗时.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   new ScanIterator<>(client::scan, new ScanParams().match("user:*").count(1000))
+ *           .stream()
+ *           .forEach(System.out::println);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-19 22:40
+ */
+public class ScanIterator<E> extends PrefetchIterator<E> {
+
+    /** 默认初始 COUNT */
+    public static final int DEFAULT_COUNT = 100;
+    /** 默认单次调用目标耗时5毫秒 */
+    public static final long DEFAULT_TARGET_MILLIS = 5;
+
+    /** 自适应 COUNT 下限 */
+    private static final int MIN_COUNT = 10;
+    /** 自适应 COUNT 上限 */
+    private static final int MAX_COUNT = 10000;
+
+    /** 游标命令, 参数为 (游标, 匹配模式) */
+    private final BiFunction<String, ScanParams, ScanResult<E>> scanner;
+    /** 匹配模式, 自适应 COUNT 时为空 */
+    private final ScanParams params;
+    /** 匹配字符串, 可为空 */
+    private final String pattern;
+    /** 单次调用目标耗时(纳秒), 小于等于 0 时不调整 COUNT */
+    private final long targetNanos;
+    /** 当前 COUNT */
+    private int count;
+    /** 观测到的最小单次调用耗时(纳秒), 作为借连接与网络往返的基线 */
+    private long baselineNanos = Long.MAX_VALUE;
+    /** 下次迭代游标 */
+    private String cursor = ScanParams.SCAN_POINTER_START;
+
+    /**
+     * @param scanner 游标命令, 参数为 (游标, 匹配模式)
+     * @param params  匹配模式
+     */
+    public ScanIterator(BiFunction<String, ScanParams, ScanResult<E>> scanner, ScanParams params) {
+        this.scanner = scanner;
+        this.params = params;
+        this.pattern = null;
+        this.targetNanos = 0;
+    }
+
+    /**
+     * 自适应 COUNT 的游标迭代器
+     *
+     * @param scanner      游标命令, 参数为 (游标, 匹配模式)
+     * @param pattern      匹配字符串, 为空时匹配全部
+     * @param initialCount 初始 COUNT
+     * @param targetMillis 单次调用目标耗时(毫秒)
+     */
+    public ScanIterator(BiFunction<String, ScanParams, ScanResult<E>> scanner, String pattern, int initialCount, long targetMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("Target Millis Must Be Positive: " + targetMillis);
+        }
+        this.scanner = scanner;
+        this.params = null;
+        this.pattern = pattern;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        this.count = Math.min(MAX_COUNT, Math.max(MIN_COUNT, initialCount));
+    }
+
+    @Override
+    protected List<E> fetchPage() {
+        ScanResult<E> result;
+        if (params != null) {
+            result = scanner.apply(cursor, params);
+        } else {
+            ScanParams adaptiveParams = new ScanParams().count(count);
+            if (pattern != null) {
+                adaptiveParams.match(pattern);
+            }
+            long start = System.nanoTime();
+            result = scanner.apply(cursor, adaptiveParams);
+            adapt(System.nanoTime() - start);
+        }
+        cursor = result.getStringCursor();
+        if (ScanParams.SCAN_POINTER_START.equals(cursor)) {
+            finish();
+        }
+        return result.getResult();
+    }
+
+    /**
+     * 根据本次调用扣除基线后的耗时调整 COUNT
+     *
+     * @param elapsedNanos 本次调用客户端耗时
+     */
+    private void adapt(long elapsedNanos) {
+        baselineNanos = Math.min(baselineNanos, elapsedNanos);
+        long serverNanos = elapsedNanos - baselineNanos;
+        if (serverNanos < targetNanos / 2) {
+            count = Math.min(MAX_COUNT, count * 2);
+        } else if (serverNanos > targetNanos) {
+            count = Math.max(MIN_COUNT, count / 2);
+        }
+    }
+}
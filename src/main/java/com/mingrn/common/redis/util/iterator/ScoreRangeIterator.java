@@ -0,0 +1,118 @@
+package com.mingrn.common.redis.util.iterator;
+
+import com.mingrn.common.redis.util.number.NumberUtil;
+import redis.clients.jedis.Tuple;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 有序集合分数区间迭代器
+ * <p>
+ * 按页迭代分数区间内的成员, 不使用 LIMIT offset 翻页(offset 越大越慢), 而是记住上一页最后一个成员及其分数,
+ * 在 Lua 脚本中通过 ZRANK 定位该成员, 再按排名取下一页, 每页的开销与页码无关.
+ * 上一页最后一个成员被删除或分数已改变时, 改为从其分数开始(不含)继续, 此时与其分数相同且尚未返回的成员会被跳过.
+ * <p>
+ * 每页单独借还连接, 并在消费当前页时异步拉取下一页.
+ *
+ * <p>使用示例:
+ * <pre>{@code
+ *   client.sortSetRangeByScoreStream("u:rank", 0, Double.POSITIVE_INFINITY, false, 1000)
+ *           .forEach(tuple -> ...);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 01:50
+ */
+public class ScoreRangeIterator extends PrefetchIterator<Tuple> {
+
+    /**
+     * 拉取一页, 返回 {成员, 分数, 成员, 分数 ...}
+     * <p>
+     * KEYS[1]: 键
+     * ARGV[1]: 最小分数, ARGV[2]: 最大分数, ARGV[3]: 每页个数, ARGV[4]: 1 按分数由高到低, 0 按分数由低到高,
+     * ARGV[5]: 1 首页, 0 非首页, ARGV[6]: 上一页最后一个成员, ARGV[7]: 上一页最后一个成员的分数
+     */
+    private static final String PAGE_LUA_SCRIPT
+            = "local n = tonumber(ARGV[3]) "
+            + "local rev = ARGV[4] == '1' "
+            + "if ARGV[5] == '0' then "
+            + "  local rank "
+            + "  if rev then rank = redis.call('zrevrank', KEYS[1], ARGV[6]) else rank = redis.call('zrank', KEYS[1], ARGV[6]) end "
+            + "  if rank and redis.call('zscore', KEYS[1], ARGV[6]) == ARGV[7] then "
+            + "    if rev then return redis.call('zrevrange', KEYS[1], rank + 1, rank + n, 'WITHSCORES') end "
+            + "    return redis.call('zrange', KEYS[1], rank + 1, rank + n, 'WITHSCORES') "
+            + "  end "
+            + "  if rev then return redis.call('zrevrangebyscore', KEYS[1], '(' .. ARGV[7], ARGV[1], 'WITHSCORES', 'LIMIT', 0, n) end "
+            + "  return redis.call('zrangebyscore', KEYS[1], '(' .. ARGV[7], ARGV[2], 'WITHSCORES', 'LIMIT', 0, n) "
+            + "end "
+            + "if rev then return redis.call('zrevrangebyscore', KEYS[1], ARGV[2], ARGV[1], 'WITHSCORES', 'LIMIT', 0, n) end "
+            + "return redis.call('zrangebyscore', KEYS[1], ARGV[1], ARGV[2], 'WITHSCORES', 'LIMIT', 0, n)";
+
+    /** 脚本执行器, 参数为 (脚本, 参数) */
+    private final BiFunction<String, List<String>, Object> evaluator;
+    private final double minScore;
+    private final double maxScore;
+    private final boolean reversed;
+    private final int pageSize;
+    /** 是否尚未拉取首页 */
+    private boolean firstPage = true;
+    /** 上一页最后一个成员, 成员可以是空串, 以 {@link #firstPage} 区分首页 */
+    private String lastMember;
+    /** 上一页最后一个成员的分数, 保留 Redis 返回的原始字符串 */
+    private String lastScore;
+
+    /**
+     * @param evaluator 在有序集合键上执行脚本, 参数为 (脚本, 参数)
+     * @param minScore  最小分数(含)
+     * @param maxScore  最大分数(含)
+     * @param reversed  true: 按分数由高到低, false: 按分数由低到高
+     * @param pageSize  每页个数
+     */
+    public ScoreRangeIterator(BiFunction<String, List<String>, Object> evaluator, double minScore, double maxScore,
+                              boolean reversed, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page Size Must Be Positive: " + pageSize);
+        }
+        this.evaluator = evaluator;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.reversed = reversed;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<Tuple> fetchPage() {
+        List<String> page = (List<String>) evaluator.apply(PAGE_LUA_SCRIPT, Arrays.asList(format(minScore), format(maxScore),
+                String.valueOf(pageSize), reversed ? "1" : "0", firstPage ? "1" : "0",
+                firstPage ? "" : lastMember, firstPage ? "" : lastScore));
+        firstPage = false;
+        List<Tuple> tuples = new ArrayList<>(page.size() / 2);
+        for (int i = 0; i + 1 < page.size(); i += 2) {
+            double score = NumberUtil.parseDouble(page.get(i + 1).getBytes(StandardCharsets.US_ASCII));
+            // 按排名取页时不受分数区间限制, 超出区间即结束
+            if (reversed ? score < minScore : score > maxScore) {
+                finish();
+                return tuples;
+            }
+            tuples.add(new Tuple(page.get(i), score));
+            lastMember = page.get(i);
+            lastScore = page.get(i + 1);
+        }
+        if (page.size() / 2 < pageSize) {
+            finish();
+        }
+        return tuples;
+    }
+
+    private static String format(double score) {
+        if (Double.isInfinite(score)) {
+            return score > 0 ? "+inf" : "-inf";
+        }
+        return String.valueOf(score);
+    }
+}
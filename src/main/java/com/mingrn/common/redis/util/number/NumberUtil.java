@@ -0,0 +1,127 @@
+package com.mingrn.common.redis.util.number;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 数值解析工具
+ * <p>
+ * 直接从 Redis 回复的 ASCII 字节解析数值, 不创建中间 String 对象.
+ * 整数按十进制逐字节解析; 浮点数在有效数字不超过 15 位且小数位不超过 22 位时,
+ * 由两个可精确表示的 double 相除得到正确舍入的结果, 否则回退到 {@link Double#parseDouble(String)}.
+ *
+ * <p>使用示例:
+ * <pre>
+ *     long count = NumberUtil.parseLong(jedis.hget(key, field));
+ * </pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @date 2026-10-20 00:10
+ */
+public class NumberUtil {
+
+    private NumberUtil() {
+    }
+
+    /** double 可精确表示的 10 的幂 */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** 快速路径允许的最大有效数字位数, 保证尾数小于 2^53 */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /**
+     * 解析十进制整数
+     *
+     * @param bytes ASCII 字节
+     * @return 整数
+     * @throws NumberFormatException 不是合法整数或溢出
+     */
+    public static long parseLong(byte[] bytes) {
+        int length = bytes.length;
+        if (length == 0) {
+            throw new NumberFormatException("Empty Number");
+        }
+        boolean negative = bytes[0] == '-';
+        int index = negative || bytes[0] == '+' ? 1 : 0;
+        if (index == length) {
+            throw invalid(bytes);
+        }
+        // 按负数累加, 可以表示 Long.MIN_VALUE
+        long result = 0;
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        for (; index < length; index++) {
+            int digit = bytes[index] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalid(bytes);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalid(bytes);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 解析浮点数
+     *
+     * @param bytes ASCII 字节
+     * @return 浮点数
+     * @throws NumberFormatException 不是合法浮点数
+     */
+    public static double parseDouble(byte[] bytes) {
+        int length = bytes.length;
+        boolean negative = length > 0 && bytes[0] == '-';
+        int index = length > 0 && (negative || bytes[0] == '+') ? 1 : 0;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean sawDigit = false;
+        for (; index < length; index++) {
+            byte b = bytes[index];
+            if (b >= '0' && b <= '9') {
+                sawDigit = true;
+                if (mantissa != 0 || b != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (index == length && sawDigit && digits <= MAX_FAST_DIGITS && fractionDigits < POWERS_OF_TEN.length) {
+            double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return parseDoubleSlow(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 回退解析, 兼容指数形式及 Redis 的 inf/-inf
+     */
+    private static double parseDoubleSlow(String value) {
+        switch (value) {
+            case "inf":
+            case "+inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    private static NumberFormatException invalid(byte[] bytes) {
+        return new NumberFormatException("For input string: \"" + new String(bytes, StandardCharsets.US_ASCII) + "\"");
+    }
+}